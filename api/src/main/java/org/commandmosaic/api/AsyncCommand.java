@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.api;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * <p>
+ * An {@code AsyncCommand} is a {@link Command} that completes asynchronously: instead of
+ * blocking the calling thread (e.g. while waiting for I/O), its
+ * {@link Command#execute(CommandContext) execute} method returns a {@code CompletionStage},
+ * which is completed once the result of the command is available.
+ * </p>
+ *
+ * <p>
+ * {@code AsyncCommand}s are dispatched like any other {@code Command}: the
+ * {@code dispatchCommandAsync} methods of {@link CommandDispatcher} return the
+ * {@code CompletionStage} of the command directly, while the {@code CommandDispatcherServer}
+ * writes the response once the {@code CompletionStage} is completed.
+ * </p>
+ *
+ * <p>
+ * The {@code execute} method <b>SHOULD NOT</b> block: it is called on the thread dispatching the command.
+ * </p>
+ *
+ * @param <R> the type the {@code CompletionStage} returned by the command is completed with
+ *
+ * @see CommandDispatcher#dispatchCommandAsync(Class, java.util.Map, CommandContext)
+ */
+public interface AsyncCommand<R> extends Command<CompletionStage<R>> {
+
+}
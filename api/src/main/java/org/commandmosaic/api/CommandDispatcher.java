@@ -21,7 +21,11 @@ import org.commandmosaic.api.configuration.CommandDispatcherConfiguration;
 import org.commandmosaic.api.factory.CommandDispatcherFactory;
 import org.commandmosaic.api.server.CommandDispatcherServer;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * <p>
@@ -140,4 +144,100 @@ public interface CommandDispatcher {
     <R, C extends Command<R>> R dispatchCommand(C commandPrototype,
                                                 CommandContext context);
 
+    /**
+     * <p>
+     * Dispatches the specified command for execution with the parameters supplied, without
+     * waiting for the completion of an {@link AsyncCommand}: if the command is an {@code AsyncCommand},
+     * its {@code CompletionStage} is returned, otherwise a {@code CompletionStage} already
+     * completed with the return value of the command.
+     * </p>
+     *
+     * <p>
+     * Exceptions thrown while dispatching the command are not thrown by this method,
+     * but complete the returned {@code CompletionStage} exceptionally.
+     * </p>
+     *
+     * @param commandName the name of the command to dispatch (cannot be {@code null})
+     * @param parameters the parameters of the command (might be {@code null})
+     * @param context the context object containing additional context information (might be {@code null})
+     *
+     * @return the {@code CompletionStage} completed with the result of the command
+     */
+    default CompletionStage<Object> dispatchCommandAsync(String commandName,
+                                                         Map<String, Object> parameters,
+                                                         CommandContext context) {
+        try {
+            return CompletionStages.toCompletionStage(dispatchCommand(commandName, parameters, context));
+        } catch (RuntimeException e) {
+            return CompletionStages.failed(e);
+        }
+    }
+
+    /**
+     * <p>
+     * Dispatches the specified {@link AsyncCommand} for execution with the parameters supplied
+     * and returns its {@code CompletionStage}.
+     * </p>
+     *
+     * <p>
+     * Exceptions thrown while dispatching the command are not thrown by this method,
+     * but complete the returned {@code CompletionStage} exceptionally.
+     * </p>
+     *
+     * @param commandClass the class of the command to dispatch (cannot be {@code null})
+     * @param parameters the parameters of the command (might be {@code null})
+     * @param context the context object containing additional context information (might be {@code null})
+     * @param <R> the type the {@code CompletionStage} of the command is completed with
+     * @param <C> the class of the command
+     *
+     * @return the {@code CompletionStage} completed with the result of the command
+     */
+    default <R, C extends AsyncCommand<R>> CompletionStage<R> dispatchCommandAsync(Class<C> commandClass,
+                                                                                  Map<String, Object> parameters,
+                                                                                  CommandContext context) {
+        try {
+            return dispatchCommand(commandClass, parameters, context);
+        } catch (RuntimeException e) {
+            return CompletionStages.failed(e);
+        }
+    }
+
+    /**
+     * <p>
+     * Dispatches all commands specified for execution and returns their return values,
+     * in the iteration order of {@code invocations}.
+     * </p>
+     *
+     * <p>
+     * This method is intended for commands composing the results of several other commands:
+     * an implementation <b>might</b> elect to execute the commands concurrently (e.g. if an
+     * {@code Executor} is configured via
+     * {@link CommandDispatcherConfiguration.Builder#dispatchExecutor(java.util.concurrent.Executor)}),
+     * so that the time taken is roughly that of the slowest command, instead of the sum of all.
+     * As a result, the commands dispatched <b>MUST NOT</b> depend on each other. The default
+     * implementation dispatches the commands one after the other, on the calling thread.
+     * </p>
+     *
+     * <p>
+     * If any of the commands fails, the exception of the first failing command (in iteration
+     * order) is thrown, once all commands completed.
+     * </p>
+     *
+     * @param invocations the commands to dispatch (cannot be {@code null})
+     * @param context the context object containing additional context information (might be {@code null}):
+     *                implementations executing the commands concurrently pass an isolated copy of it to
+     *                each command
+     *
+     * @return the return values of the commands, in the iteration order of {@code invocations}
+     */
+    default List<Object> dispatchAll(Collection<? extends CommandInvocation<?>> invocations,
+                                     CommandContext context) {
+
+        List<Object> results = new ArrayList<>(invocations.size());
+        for (CommandInvocation<?> invocation : invocations) {
+            results.add(dispatchCommand(invocation.getCommandClass(), invocation.getParameters(), context));
+        }
+        return results;
+    }
+
 }
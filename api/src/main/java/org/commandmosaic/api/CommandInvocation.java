@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.api;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A {@code CommandInvocation} pairs a {@link Command} class with the parameters it is to be
+ * dispatched with: it is used to specify the commands to be dispatched together via
+ * {@link CommandDispatcher#dispatchAll(java.util.Collection, CommandContext)}.
+ * </p>
+ *
+ * @param <R> the return type of the command
+ */
+public final class CommandInvocation<R> {
+
+    private final Class<? extends Command<R>> commandClass;
+    private final Map<String, Object> parameters;
+
+    private CommandInvocation(Class<? extends Command<R>> commandClass, Map<String, Object> parameters) {
+        this.commandClass = commandClass;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Creates a {@code CommandInvocation} of the command class specified.
+     *
+     * @param commandClass the class of the command to dispatch (cannot be {@code null})
+     * @param parameters the parameters of the command (might be {@code null})
+     * @param <R> the return type of the command
+     * @param <C> the class of the command
+     *
+     * @return a new {@code CommandInvocation}
+     */
+    public static <R, C extends Command<R>> CommandInvocation<R> of(Class<C> commandClass,
+                                                                    Map<String, Object> parameters) {
+        Objects.requireNonNull(commandClass, "argument commandClass cannot be null");
+
+        return new CommandInvocation<>(commandClass, parameters);
+    }
+
+    public Class<? extends Command<R>> getCommandClass() {
+        return commandClass;
+    }
+
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CommandInvocation{");
+        sb.append("commandClass=").append(commandClass);
+        sb.append(", parameters=").append(parameters);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Utility methods for the asynchronous dispatch of commands.
+ */
+final class CompletionStages {
+
+    private CompletionStages() {
+        // no external instances
+    }
+
+    static <T> CompletionStage<T> failed(Throwable throwable) {
+        CompletableFuture<T> completableFuture = new CompletableFuture<>();
+        completableFuture.completeExceptionally(throwable);
+        return completableFuture;
+    }
+
+    static CompletionStage<Object> toCompletionStage(Object result) {
+        if (result instanceof CompletionStage) {
+            @SuppressWarnings("unchecked")
+            CompletionStage<Object> completionStage = (CompletionStage<Object>) result;
+            return completionStage;
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+}
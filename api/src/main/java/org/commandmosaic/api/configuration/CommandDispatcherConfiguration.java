@@ -25,17 +25,20 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * A {@code CommandDispatcherConfiguration} describes settings used by a
- * {@code CommandDispatcher}: the root package, interceptors and custom type
- * conversions.
+ * {@code CommandDispatcher}: the root package, interceptors, custom type
+ * conversions and the {@code Executor} used to dispatch commands concurrently.
  */
 public class CommandDispatcherConfiguration {
 
     private String rootPackageName;
     private List<Class<? extends CommandInterceptor>> interceptors;
     private LinkedHashSet<TypeConversion<?,?>> typeConversions;
+    private boolean eagerInitialization;
+    private Executor dispatchExecutor;
 
     public String getRootPackageName() {
         return rootPackageName;
@@ -61,6 +64,22 @@ public class CommandDispatcherConfiguration {
         this.typeConversions = typeConversions;
     }
 
+    public boolean isEagerInitialization() {
+        return eagerInitialization;
+    }
+
+    public void setEagerInitialization(boolean eagerInitialization) {
+        this.eagerInitialization = eagerInitialization;
+    }
+
+    public Executor getDispatchExecutor() {
+        return dispatchExecutor;
+    }
+
+    public void setDispatchExecutor(Executor dispatchExecutor) {
+        this.dispatchExecutor = dispatchExecutor;
+    }
+
     /**
      * Constructs a {@link CommandDispatcherConfiguration.Builder Builder},
      * which offers a fluent API for creating a {@code CommandDispatcherConfiguration}
@@ -81,6 +100,8 @@ public class CommandDispatcherConfiguration {
         private String rootPackageName;
         private LinkedList<Class<? extends CommandInterceptor>> interceptors;
         private LinkedHashSet<TypeConversion<?,?>> typeConversions;
+        private boolean eagerInitialization;
+        private Executor dispatchExecutor;
 
         private Builder() {
             // instances can only be created via the factory method
@@ -204,6 +225,41 @@ public class CommandDispatcherConfiguration {
             return this;
         }
 
+        /**
+         * Specifies whether every command in the root package should be prepared for
+         * execution (e.g. constructor lookup, parameter metadata) when the
+         * {@code CommandDispatcher} is created, instead of on its first dispatch.
+         * This trades a slower startup for flat latency from the first request onward.
+         * Defaults to {@code false}.
+         *
+         * @param eagerInitialization {@code true} to prepare all commands upfront
+         *
+         * @return {@code this} builder (for method chaining)
+         */
+        public Builder eagerInitialization(boolean eagerInitialization) {
+            this.eagerInitialization = eagerInitialization;
+
+            return this;
+        }
+
+        /**
+         * Specifies the {@code Executor} the commands passed to
+         * {@link org.commandmosaic.api.CommandDispatcher#dispatchAll(java.util.Collection,
+         * org.commandmosaic.api.CommandContext) CommandDispatcher#dispatchAll} are executed on
+         * concurrently. As these commands are typically waiting for I/O, an {@code Executor} that
+         * is not limited to the number of processors (e.g. one using virtual threads) is recommended.
+         * If not specified, the commands are executed one after the other, on the calling thread.
+         *
+         * @param dispatchExecutor the {@code Executor} to use (might be {@code null})
+         *
+         * @return {@code this} builder (for method chaining)
+         */
+        public Builder dispatchExecutor(Executor dispatchExecutor) {
+            this.dispatchExecutor = dispatchExecutor;
+
+            return this;
+        }
+
         /**
          * Constructs a {@code CommandDispatcherConfiguration} out of the settings
          * provided via the {@link Builder}s fluent API.
@@ -217,6 +273,8 @@ public class CommandDispatcherConfiguration {
 
             CommandDispatcherConfiguration configuration = new CommandDispatcherConfiguration();
             configuration.setRootPackageName(rootPackageName);
+            configuration.setEagerInitialization(eagerInitialization);
+            configuration.setDispatchExecutor(dispatchExecutor);
 
             if (this.interceptors != null) {
                 configuration.setInterceptors(interceptors);
@@ -237,6 +295,8 @@ public class CommandDispatcherConfiguration {
         sb.append("packageName='").append(rootPackageName).append('\'');
         sb.append(", interceptors=").append(interceptors);
         sb.append(", typeConversions=").append(typeConversions);
+        sb.append(", eagerInitialization=").append(eagerInitialization);
+        sb.append(", dispatchExecutor=").append(dispatchExecutor);
         sb.append('}');
         return sb.toString();
     }
@@ -17,6 +17,9 @@
  
 package org.commandmosaic.api.conversion;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
 /**
  * <p>
  * A {@code TypeConversionService} contains one method,
@@ -24,6 +27,12 @@ package org.commandmosaic.api.conversion;
  * the specified object to the desired target type
  * or throws an Exception.
  * </p>
+ *
+ * <p>
+ * Callers performing the same conversion repeatedly might instead
+ * obtain a {@link TypeConverter} for a given source and target type
+ * once, via {@link #getConverter(Class, Class)}, and reuse it.
+ * </p>
  */
 public interface TypeConversionService {
 
@@ -41,4 +50,72 @@ public interface TypeConversionService {
      * @throws TypeConversionException if conversion fails; e.g. the conversion is not feasible
      */
     <S, T> T convert(S value, Class<T> targetType) throws TypeConversionException;
+
+    /**
+     * <p>
+     * Returns a {@link TypeConverter}, which converts values of exactly the specified source
+     * type to the desired target type the same way as {@link #convert(Object, Class)} does.
+     * All decisions not depending on the value itself (e.g. selecting the conversion strategy)
+     * are made upfront, so the returned {@code TypeConverter} is expected to be cached and
+     * reused by the caller.
+     * </p>
+     *
+     * <p>
+     * The default implementation delegates to {@link #convert(Object, Class)}.
+     * </p>
+     *
+     * @param sourceType the type of the values to convert
+     * @param targetType the target type to convert to
+     *
+     * @param <S> type of the source
+     * @param <T> type of the target
+     *
+     * @return the {@code TypeConverter} (never {@code null})
+     *
+     * @throws TypeConversionException if conversion between the types is not feasible
+     */
+    default <S, T> TypeConverter<S, T> getConverter(Class<S> sourceType, Class<T> targetType)
+            throws TypeConversionException {
+
+        return value -> convert(value, targetType);
+    }
+
+    /**
+     * <p>
+     * Returns a {@link TypeConverter}, which converts values of exactly the specified source type
+     * to the desired, potentially parameterized target type (e.g. {@code List<SomeType>}),
+     * taking the type arguments into account.
+     * </p>
+     *
+     * <p>
+     * The default implementation ignores the type arguments and converts to the raw
+     * target type via {@link #getConverter(Class, Class)}.
+     * </p>
+     *
+     * @param sourceType the type of the values to convert
+     * @param targetType the (generic) target type to convert to
+     *
+     * @param <S> type of the source
+     *
+     * @return the {@code TypeConverter} (never {@code null})
+     *
+     * @throws TypeConversionException if conversion between the types is not feasible
+     */
+    default <S> TypeConverter<S, Object> getConverter(Class<S> sourceType, Type targetType)
+            throws TypeConversionException {
+
+        Class<?> rawTargetType;
+        if (targetType instanceof Class) {
+            rawTargetType = (Class<?>) targetType;
+        } else if (targetType instanceof ParameterizedType
+                && ((ParameterizedType) targetType).getRawType() instanceof Class) {
+            rawTargetType = (Class<?>) ((ParameterizedType) targetType).getRawType();
+        } else {
+            rawTargetType = Object.class;
+        }
+
+        @SuppressWarnings("unchecked")
+        TypeConverter<S, Object> typeConverter = (TypeConverter<S, Object>) getConverter(sourceType, rawTargetType);
+        return typeConverter;
+    }
 }
@@ -62,6 +62,14 @@ public interface CommandInterceptor {
      * </p>
      *
      * <p>
+     * For an {@link org.commandmosaic.api.AsyncCommand AsyncCommand}, the value returned by the
+     * rest of the chain is the {@code CompletionStage} of the command: a {@code CommandInterceptor}
+     * processing the result of the command should compose on the {@code CompletionStage} (e.g. via
+     * {@code thenApply} or {@code whenComplete}) and return the resulting {@code CompletionStage},
+     * instead of waiting for its completion.
+     * </p>
+     *
+     * <p>
      * If a {@code CommandInterceptor} throws an {@code Exception},
      * processing of the chain halts and the {@code Exception} is
      * immediately propagated back to the caller.
@@ -88,4 +96,27 @@ public interface CommandInterceptor {
                                           ParameterSource parameters,
                                           CommandContext context,
                                           CommandExecutor next);
+
+    /**
+     * <p>
+     * Returns whether this {@code CommandInterceptor} has to intercept the dispatch
+     * of the {@code Command} class specified. If {@code false} is returned, the
+     * {@link #intercept(Class, ParameterSource, CommandContext, CommandExecutor) intercept}
+     * method is never called for the command class: the dispatch instruction is propagated
+     * to the next entity in the chain directly.
+     * </p>
+     *
+     * <p>
+     * The {@code CommandDispatcher} calls this method once per command class and uses the result
+     * for all subsequent dispatches: the return value must only depend on the command class.
+     * The default implementation returns {@code true}.
+     * </p>
+     *
+     * @param commandClass the class of the command (never {@code null})
+     *
+     * @return {@code true} if the command class has to be intercepted, {@code false} otherwise
+     */
+    default boolean appliesTo(Class<? extends Command<?>> commandClass) {
+        return true;
+    }
 }
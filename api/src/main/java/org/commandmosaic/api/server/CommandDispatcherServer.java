@@ -20,6 +20,8 @@ package org.commandmosaic.api.server;
 import org.commandmosaic.api.CommandDispatcher;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * <p>
@@ -61,4 +63,36 @@ public interface CommandDispatcherServer {
     void serviceRequest(DispatchRequest request,
                         DispatchResponse response,
                         DispatchContext context) throws IOException;
+
+    /**
+     * <p>
+     * Called to service an incoming message that contains a request for
+     * dispatching a command, without waiting for the completion of an
+     * {@link org.commandmosaic.api.AsyncCommand AsyncCommand}: the
+     * response is written once the command completes, possibly on another thread.</p>
+     *
+     * <p>
+     * Exceptions are not thrown by this method, but complete the returned
+     * {@code CompletionStage} exceptionally (e.g. an {@code IOException} raised
+     * while writing the response). The default implementation calls
+     * {@link #serviceRequest(DispatchRequest, DispatchResponse, DispatchContext)}.</p>
+     *
+     * @param request the request object
+     * @param response the response object
+     * @param context provides context information and operations
+     *
+     * @return the {@code CompletionStage} completed once the response has been written
+     */
+    default CompletionStage<Void> serviceRequestAsync(DispatchRequest request,
+                                                      DispatchResponse response,
+                                                      DispatchContext context) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        try {
+            serviceRequest(request, response, context);
+            completion.complete(null);
+        } catch (IOException | RuntimeException e) {
+            completion.completeExceptionally(e);
+        }
+        return completion;
+    }
 }
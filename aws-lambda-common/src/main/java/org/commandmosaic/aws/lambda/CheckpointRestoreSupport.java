@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.aws.lambda;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * <p>
+ * Registers checkpoint/restore hooks with the CRaC API (used e.g. by AWS Lambda SnapStart),
+ * if it is available at runtime.
+ * </p>
+ *
+ * <p>
+ * The API is accessed reflectively, so that no dependency is required: the {@code org.crac}
+ * facade library is used, if it is on the classpath, otherwise the {@code jdk.crac} API
+ * of a CRaC-enabled JDK.
+ * </p>
+ */
+final class CheckpointRestoreSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckpointRestoreSupport.class);
+
+    private static final String[] CRAC_PACKAGES = { "org.crac", "jdk.crac" };
+
+    private CheckpointRestoreSupport() {
+        // no external instances
+    }
+
+    /**
+     * Registers the hooks specified with the global CRaC context.
+     *
+     * NOTE: the CRaC context only references the registered resources weakly:
+     * the caller must keep a reference to the returned resource.
+     *
+     * @param beforeCheckpoint called before a checkpoint is taken
+     * @param afterRestore called after the process is restored from a checkpoint
+     *
+     * @return the registered resource or {@code null}, if CRaC is not available
+     */
+    static Object register(Runnable beforeCheckpoint, Runnable afterRestore) {
+        for (String cracPackage : CRAC_PACKAGES) {
+            try {
+                ClassLoader classLoader = CheckpointRestoreSupport.class.getClassLoader();
+                Class<?> coreClass = Class.forName(cracPackage + ".Core", true, classLoader);
+                Class<?> resourceClass = Class.forName(cracPackage + ".Resource", true, classLoader);
+                Class<?> contextClass = Class.forName(cracPackage + ".Context", true, classLoader);
+
+                Object globalContext = coreClass.getMethod("getGlobalContext").invoke(null);
+
+                Object resource = Proxy.newProxyInstance(classLoader, new Class<?>[] { resourceClass },
+                        new ResourceInvocationHandler(beforeCheckpoint, afterRestore));
+
+                // looked up on the public Context type: the implementation class might not be accessible
+                contextClass.getMethod("register", resourceClass).invoke(globalContext, resource);
+
+                log.debug("Registered checkpoint/restore hooks via {}", cracPackage);
+                return resource;
+
+            } catch (ClassNotFoundException e) {
+                log.trace("CRaC API is not available: {}", cracPackage);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.warn("Failed to register checkpoint/restore hooks via {}", cracPackage, e);
+            }
+        }
+        return null;
+    }
+
+    private static final class ResourceInvocationHandler implements InvocationHandler {
+
+        private final Runnable beforeCheckpoint;
+        private final Runnable afterRestore;
+
+        private ResourceInvocationHandler(Runnable beforeCheckpoint, Runnable afterRestore) {
+            this.beforeCheckpoint = beforeCheckpoint;
+            this.afterRestore = afterRestore;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "beforeCheckpoint":
+                    log.debug("Preparing for checkpoint");
+                    beforeCheckpoint.run();
+                    return null;
+                case "afterRestore":
+                    log.debug("Restored from checkpoint");
+                    afterRestore.run();
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CheckpointRestoreResource@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    throw new UnsupportedOperationException("Unexpected method: " + method);
+            }
+        }
+    }
+}
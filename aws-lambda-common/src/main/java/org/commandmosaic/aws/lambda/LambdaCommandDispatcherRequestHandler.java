@@ -19,22 +19,72 @@ package org.commandmosaic.aws.lambda;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import org.commandmosaic.api.Command;
 import org.commandmosaic.api.CommandDispatcher;
 import org.commandmosaic.api.server.CommandDispatcherServer;
 import org.commandmosaic.aws.lambda.transport.LambdaTransport;
+import org.commandmosaic.core.DefaultCommandDispatcher;
+import org.commandmosaic.core.marshaller.MarshalException;
+import org.commandmosaic.core.marshaller.Marshaller;
+import org.commandmosaic.core.marshaller.MarshallerFactory;
+import org.commandmosaic.core.marshaller.StreamingMarshallerFactory;
+import org.commandmosaic.core.marshaller.UnmarshalException;
+import org.commandmosaic.core.registry.CommandRegistry;
 import org.commandmosaic.core.server.DefaultCommandDispatcherServer;
+import org.commandmosaic.core.server.ProtocolConstants;
+import org.commandmosaic.core.server.model.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
+/**
+ * <p>
+ * Base class of the AWS Lambda request handlers dispatching commands.
+ * </p>
+ *
+ * <p>
+ * If the CRaC API is available at runtime (e.g. AWS Lambda SnapStart with the
+ * {@code org.crac} library on the classpath), the handler registers itself for
+ * checkpoint/restore notifications: {@link #beforeCheckpoint()} primes the request
+ * processing, so that the snapshot captures a warmed up dispatcher, while
+ * {@link #afterRestore()} allows subclasses to re-initialize state, which must
+ * not be shared by restored instances (e.g. clocks, random generators or keys).
+ * </p>
+ *
+ * <p>
+ * Unless a {@code MarshallerFactory} is registered as service, handlers created with a
+ * {@code CommandDispatcher} use the {@code StreamingMarshaller}, which parses the event
+ * payload from, and writes the response to the streams of the Lambda runtime as UTF-8
+ * bytes, without an intermediate {@code String}, {@code Reader} or {@code Writer}.
+ * </p>
+ */
 public abstract class LambdaCommandDispatcherRequestHandler implements RequestStreamHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(LambdaCommandDispatcherRequestHandler.class);
+
     protected final LambdaTransport lambdaTransport;
 
+    // only known if the transport services a DefaultCommandDispatcherServer: used to prime typed unmarshalling
+    private final CommandDispatcher commandDispatcher;
+    private final Marshaller marshaller;
+
+    // the CRaC context references the registered resources weakly: it must be kept reachable
+    @SuppressWarnings({"unused", "FieldCanBeLocal"})
+    private final Object checkpointRestoreResource;
+
     protected LambdaCommandDispatcherRequestHandler(CommandDispatcher commandDispatcher) {
-        this(new DefaultCommandDispatcherServer(commandDispatcher));
+        this(new DefaultCommandDispatcherServer(commandDispatcher,
+                MarshallerFactory.getInstance(StreamingMarshallerFactory::new).getMarshaller()));
     }
 
     protected LambdaCommandDispatcherRequestHandler(CommandDispatcherServer commandDispatcherServer) {
@@ -43,6 +93,110 @@ public abstract class LambdaCommandDispatcherRequestHandler implements RequestSt
 
     protected LambdaCommandDispatcherRequestHandler(LambdaTransport lambdaTransport) {
         this.lambdaTransport = Objects.requireNonNull(lambdaTransport, "argument lambdaTransport cannot be null");
+        this.commandDispatcher = getCommandDispatcher(lambdaTransport.getCommandDispatcherServer());
+        this.marshaller = getMarshaller(lambdaTransport.getCommandDispatcherServer());
+        this.checkpointRestoreResource = CheckpointRestoreSupport.register(this::beforeCheckpoint, this::afterRestore);
+    }
+
+    private static CommandDispatcher getCommandDispatcher(CommandDispatcherServer commandDispatcherServer) {
+        return commandDispatcherServer instanceof DefaultCommandDispatcherServer
+                ? ((DefaultCommandDispatcherServer) commandDispatcherServer).getCommandDispatcher() : null;
+    }
+
+    // the readers of the parameter types are cached by the marshaller: the one of the server must be primed
+    private static Marshaller getMarshaller(CommandDispatcherServer commandDispatcherServer) {
+        return commandDispatcherServer instanceof DefaultCommandDispatcherServer
+                ? ((DefaultCommandDispatcherServer) commandDispatcherServer).getMarshaller()
+                : MarshallerFactory.getInstance().getMarshaller();
+    }
+
+    /**
+     * Primes the processing of requests by servicing a synthetic request, which does not
+     * dispatch any command, so that the one-off initialization (class loading, JSON
+     * (un)marshaller introspection, JIT compilation) does not happen on the first real
+     * invocation. The commands themselves are prepared when the dispatcher is created.
+     * If the handler services a {@code DefaultCommandDispatcher}, the typed unmarshalling
+     * of the parameters of single requests is primed for each command as well.
+     *
+     * @throws IllegalStateException if the synthetic request fails
+     */
+    public void prime() {
+        log.debug("Priming request processing");
+        try {
+            // a batch request with a single null entry: it goes through the unmarshalling,
+            // batch processing and response marshalling, but does not dispatch any command
+            Request primingRequest = new Request();
+            primingRequest.setProtocol(ProtocolConstants.BATCH_PROTOCOL_VERSION);
+            primingRequest.setRequests(Collections.singletonList(null));
+
+            lambdaTransport.handleRequest(
+                    new ByteArrayInputStream(marshal(marshaller, primingRequest)), new ByteArrayOutputStream());
+
+            if (commandDispatcher instanceof DefaultCommandDispatcher) {
+                primeTypedUnmarshalling(marshaller, (DefaultCommandDispatcher) commandDispatcher);
+            }
+        } catch (IOException | MarshalException | UnmarshalException | RuntimeException ex) {
+            throw new IllegalStateException("Failed to prime request processing", ex);
+        }
+    }
+
+    /**
+     * Unmarshals a single request of each command with parameters, the value of each parameter being
+     * an empty object: the readers of the parameter types are created (and cached by the marshaller)
+     * even if the value does not match the type. No command is dispatched.
+     */
+    private static void primeTypedUnmarshalling(Marshaller marshaller, DefaultCommandDispatcher commandDispatcher)
+            throws MarshalException, UnmarshalException {
+
+        CommandRegistry commandRegistry = commandDispatcher.getCommandRegistry();
+        String rootPackageName = commandRegistry.getRootPackageName();
+
+        for (Class<? extends Command<?>> commandClass : commandRegistry.getCommandClasses()) {
+            String commandName = rootPackageName.isEmpty()
+                    ? commandClass.getName() : commandClass.getName().substring(rootPackageName.length() + 1);
+
+            Map<String, Type> parameterTypes = commandDispatcher.getParameterTypes(commandName);
+            if (parameterTypes == null || parameterTypes.isEmpty()) {
+                continue;
+            }
+
+            Map<String, Object> parameters = new LinkedHashMap<>();
+            for (String parameterName : parameterTypes.keySet()) {
+                parameters.put(parameterName, Collections.emptyMap());
+            }
+
+            Request request = new Request();
+            request.setProtocol(ProtocolConstants.PROTOCOL_VERSION);
+            request.setCommand(commandName);
+            request.setParameters(parameters);
+
+            marshaller.unmarshalRequest(new ByteArrayInputStream(marshal(marshaller, request)),
+                    commandDispatcher::getParameterTypes);
+        }
+    }
+
+    private static byte[] marshal(Marshaller marshaller, Request request) throws MarshalException {
+        ByteArrayOutputStream requestOutputStream = new ByteArrayOutputStream();
+        marshaller.marshal(requestOutputStream, request);
+
+        return requestOutputStream.toByteArray();
+    }
+
+    /**
+     * Called before a CRaC checkpoint (e.g. AWS Lambda SnapStart snapshot) is taken.
+     * The default implementation calls {@link #prime()}.
+     */
+    protected void beforeCheckpoint() {
+        prime();
+    }
+
+    /**
+     * Called after the process is restored from a CRaC checkpoint.
+     * Subclasses can override this method to re-initialize state, which must be unique to
+     * each restored instance. The default implementation does nothing.
+     */
+    protected void afterRestore() {
+        // nothing to do by default
     }
 
     @Override
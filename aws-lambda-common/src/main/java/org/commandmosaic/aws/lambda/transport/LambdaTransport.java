@@ -44,4 +44,8 @@ public class LambdaTransport {
 
         commandDispatcherServer.serviceRequest(request, response, EmptyDispatchContext.INSTANCE);
     }
+
+    public CommandDispatcherServer getCommandDispatcherServer() {
+        return commandDispatcherServer;
+    }
 }
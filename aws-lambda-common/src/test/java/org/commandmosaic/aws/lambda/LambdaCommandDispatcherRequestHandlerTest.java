@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.aws.lambda;
+
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.api.configuration.CommandDispatcherConfiguration;
+import org.commandmosaic.api.executor.CommandExecutor;
+import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.aws.lambda.commands.GreetCommand;
+import org.commandmosaic.core.DefaultCommandDispatcher;
+import org.commandmosaic.core.marshaller.StreamingMarshaller;
+import org.commandmosaic.core.server.DefaultCommandDispatcherServer;
+import org.crac.Core;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LambdaCommandDispatcherRequestHandlerTest {
+
+    @Test
+    public void testPrimeDoesNotDispatchCommands() {
+        RecordingCommandDispatcher commandDispatcher = new RecordingCommandDispatcher();
+
+        TestRequestHandler requestHandler = new TestRequestHandler(commandDispatcher);
+        requestHandler.prime();
+
+        // the parameter types are resolved for the typed unmarshalling of single requests
+        Assert.assertTrue(commandDispatcher.resolvedCommandNames.contains(GreetCommand.class.getSimpleName()));
+    }
+
+    @Test
+    public void testStreamingMarshallerIsUsedByDefault() {
+        TestRequestHandler requestHandler = new TestRequestHandler(new RecordingCommandDispatcher());
+
+        DefaultCommandDispatcherServer commandDispatcherServer =
+                (DefaultCommandDispatcherServer) requestHandler.lambdaTransport.getCommandDispatcherServer();
+        Assert.assertTrue(commandDispatcherServer.getMarshaller() instanceof StreamingMarshaller);
+    }
+
+    @Test
+    public void testCheckpointRestoreHooksAreRegistered() throws Exception {
+        TestRequestHandler requestHandler = new TestRequestHandler(new RecordingCommandDispatcher());
+
+        Core.checkpointRestore();
+
+        Assert.assertEquals(1, requestHandler.checkpoints.get());
+        Assert.assertEquals(1, requestHandler.restores.get());
+    }
+
+    private static final class TestRequestHandler extends LambdaCommandDispatcherRequestHandler {
+
+        private final AtomicInteger checkpoints = new AtomicInteger();
+        private final AtomicInteger restores = new AtomicInteger();
+
+        private TestRequestHandler(RecordingCommandDispatcher commandDispatcher) {
+            super(commandDispatcher);
+        }
+
+        @Override
+        protected void beforeCheckpoint() {
+            super.beforeCheckpoint();
+            checkpoints.incrementAndGet();
+        }
+
+        @Override
+        protected void afterRestore() {
+            restores.incrementAndGet();
+        }
+    }
+
+    private static final class RecordingCommandDispatcher extends DefaultCommandDispatcher {
+
+        private final Set<String> resolvedCommandNames = ConcurrentHashMap.newKeySet();
+
+        private RecordingCommandDispatcher() {
+            super(CommandDispatcherConfiguration.builder().rootPackageFromClass(GreetCommand.class).build(),
+                    new FailingCommandExecutor());
+        }
+
+        @Override
+        public Map<String, Type> getParameterTypes(String commandName) {
+            resolvedCommandNames.add(commandName);
+            return super.getParameterTypes(commandName);
+        }
+    }
+
+    private static final class FailingCommandExecutor implements CommandExecutor {
+
+        @Override
+        public <R, C extends Command<R>> R execute(Class<C> commandClass, ParameterSource parameters,
+                                                   CommandContext context) {
+            throw new AssertionError("Command dispatched: " + commandClass);
+        }
+    }
+}
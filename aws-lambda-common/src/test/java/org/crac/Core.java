@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.crac;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test stub of the {@code org.crac} API: {@link #checkpointRestore()} notifies the resources
+ * registered, as if a checkpoint was taken and the process was restored from it.
+ */
+public class Core {
+
+    private static final GlobalContext GLOBAL_CONTEXT = new GlobalContext();
+
+    private Core() {
+    }
+
+    public static Context<Resource> getGlobalContext() {
+        return GLOBAL_CONTEXT;
+    }
+
+    public static void checkpointRestore() throws Exception {
+        GLOBAL_CONTEXT.beforeCheckpoint(null);
+        GLOBAL_CONTEXT.afterRestore(null);
+    }
+
+    // like the implementation of the real API, the class of the global context is not public
+    private static final class GlobalContext extends Context<Resource> {
+
+        private final List<Resource> resources = new ArrayList<>();
+
+        @Override
+        public synchronized void register(Resource resource) {
+            resources.add(resource);
+        }
+
+        @Override
+        public synchronized void beforeCheckpoint(Context<? extends Resource> context) throws Exception {
+            for (Resource resource : resources) {
+                resource.beforeCheckpoint(this);
+            }
+        }
+
+        @Override
+        public synchronized void afterRestore(Context<? extends Resource> context) throws Exception {
+            for (Resource resource : resources) {
+                resource.afterRestore(this);
+            }
+        }
+    }
+}
@@ -50,8 +50,10 @@ public class PlainLambdaCommandDispatcherRequestHandler extends LambdaCommandDis
     private static CommandDispatcher buildCommandDispatcher(String commandRootPackage,
                                                             List<Class<? extends CommandInterceptor>> interceptors) {
 
+        // prepare the commands during the initialization phase (captured by SnapStart as well)
         CommandDispatcherConfiguration.Builder configBuilder = CommandDispatcherConfiguration.builder()
-                .rootPackage(commandRootPackage);
+                .rootPackage(commandRootPackage)
+                .eagerInitialization(true);
 
         if (interceptors != null) {
             interceptors.forEach(configBuilder::interceptor);
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.benchmarks;
+
+import org.commandmosaic.api.CommandDispatcher;
+import org.commandmosaic.api.configuration.CommandDispatcherConfiguration;
+import org.commandmosaic.benchmarks.commands.GreetingCommand;
+import org.commandmosaic.plain.PlainCommandDispatcherFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures {@link CommandDispatcher#dispatchCommand} with the three ways a command can be identified.
+ */
+@State(Scope.Benchmark)
+public class CommandDispatcherBenchmark extends AbstractBenchmark {
+
+    private CommandDispatcher commandDispatcher;
+    private Map<String, Object> parameters;
+    private GreetingCommand prototype;
+
+    @Setup
+    public void setUp() {
+        CommandDispatcherConfiguration configuration = CommandDispatcherConfiguration.builder()
+                .rootPackageFromClass(GreetingCommand.class)
+                .build();
+
+        commandDispatcher = PlainCommandDispatcherFactory.getInstance().getCommandDispatcher(configuration);
+
+        parameters = new HashMap<>();
+        parameters.put("message", "Hello");
+        parameters.put("name", "John Smith");
+
+        prototype = new GreetingCommand("Hello", "John Smith");
+    }
+
+    @Benchmark
+    public Object dispatchByName() {
+        return commandDispatcher.dispatchCommand("GreetingCommand", parameters, null);
+    }
+
+    @Benchmark
+    public String dispatchByClass() {
+        return commandDispatcher.dispatchCommand(GreetingCommand.class, parameters, null);
+    }
+
+    @Benchmark
+    public String dispatchByPrototype() {
+        return commandDispatcher.dispatchCommand(prototype, null);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.benchmarks;
+
+import org.commandmosaic.api.CommandDispatcher;
+import org.commandmosaic.api.configuration.CommandDispatcherConfiguration;
+import org.commandmosaic.api.server.CommandDispatcherServer;
+import org.commandmosaic.api.server.DispatchResponse;
+import org.commandmosaic.benchmarks.commands.GreetingCommand;
+import org.commandmosaic.core.server.DefaultCommandDispatcherServer;
+import org.commandmosaic.core.server.DefaultDispatchRequest;
+import org.commandmosaic.core.server.DefaultDispatchResponse;
+import org.commandmosaic.core.server.EmptyDispatchContext;
+import org.commandmosaic.plain.PlainCommandDispatcherFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Measures servicing a serialized request end to end: unmarshalling,
+ * dispatching the command and marshalling the response.
+ */
+@State(Scope.Thread)
+public class CommandDispatcherServerBenchmark extends AbstractBenchmark {
+
+    private static final String REQUEST = "{\"command\":\"GreetingCommand\",\"protocol\":\"CM/1.0\","
+            + "\"parameters\":{\"message\":\"Hello\",\"name\":\"John Smith\"}}";
+
+    private CommandDispatcherServer commandDispatcherServer;
+    private byte[] requestBytes;
+    private ByteArrayOutputStream responseStream;
+    private DispatchResponse dispatchResponse;
+
+    @Setup
+    public void setUp() {
+        CommandDispatcherConfiguration configuration = CommandDispatcherConfiguration.builder()
+                .rootPackageFromClass(GreetingCommand.class)
+                .build();
+
+        CommandDispatcher commandDispatcher =
+                PlainCommandDispatcherFactory.getInstance().getCommandDispatcher(configuration);
+
+        commandDispatcherServer = new DefaultCommandDispatcherServer(commandDispatcher);
+        requestBytes = REQUEST.getBytes(StandardCharsets.UTF_8);
+        responseStream = new ByteArrayOutputStream();
+        dispatchResponse = new DefaultDispatchResponse(responseStream);
+    }
+
+    @Benchmark
+    public int serviceRequest() throws IOException {
+        responseStream.reset();
+
+        commandDispatcherServer.serviceRequest(
+                new DefaultDispatchRequest(new ByteArrayInputStream(requestBytes)),
+                dispatchResponse, EmptyDispatchContext.INSTANCE);
+
+        return responseStream.size();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.api.executor.CommandExecutor;
+import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.api.interceptor.CommandInterceptor;
+import org.commandmosaic.benchmarks.commands.PublicCommand;
+import org.commandmosaic.benchmarks.commands.UserCommand;
+import org.commandmosaic.core.parameter.source.ParameterSources;
+import org.commandmosaic.core.server.context.DefaultCommandContext;
+import org.commandmosaic.security.core.SimpleIdentity;
+import org.commandmosaic.security.jwt.core.DefaultTokenProvider;
+import org.commandmosaic.security.jwt.core.TokenProvider;
+import org.commandmosaic.security.jwt.interceptor.JwtSecurityCommandInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Measures the JWT flavour of {@code DefaultSecurityCommandInterceptor}: authenticating
+ * and authorizing a caller presenting a token, and letting through a call to a public command.
+ */
+@State(Scope.Benchmark)
+public class JwtSecurityInterceptorBenchmark extends AbstractBenchmark {
+
+    private static final byte[] JWT_KEY =
+            "commandmosaic-benchmarks-jwt-key-commandmosaic-benchmarks-jwt-key".getBytes(StandardCharsets.UTF_8);
+
+    private static final long TOKEN_VALIDITY_IN_SECONDS = 3600;
+
+    private CommandInterceptor securityInterceptor;
+    private CommandExecutor nextExecutor;
+    private ParameterSource parameterSource;
+    private CommandContext tokenContext;
+    private CommandContext anonymousContext;
+
+    @Setup
+    public void setUp() {
+        TokenProvider tokenProvider =
+                new DefaultTokenProvider(JWT_KEY, TOKEN_VALIDITY_IN_SECONDS, TOKEN_VALIDITY_IN_SECONDS);
+
+        String token = tokenProvider.createToken(
+                new SimpleIdentity("user", ImmutableSet.of("ROLE_USER")), false);
+
+        securityInterceptor = new JwtSecurityCommandInterceptor(tokenProvider, commandContext -> null);
+        nextExecutor = new NoOpCommandExecutor();
+        parameterSource = ParameterSources.mapParameterSource(Collections.emptyMap());
+        tokenContext = new DefaultCommandContext(ImmutableMap.of("token", token));
+        anonymousContext = new DefaultCommandContext();
+    }
+
+    @Benchmark
+    public Object authenticatedCommand() {
+        return securityInterceptor.intercept(UserCommand.class, parameterSource, tokenContext, nextExecutor);
+    }
+
+    @Benchmark
+    public Object publicCommand() {
+        return securityInterceptor.intercept(PublicCommand.class, parameterSource, anonymousContext, nextExecutor);
+    }
+
+    private static final class NoOpCommandExecutor implements CommandExecutor {
+        @Override
+        public <R, C extends Command<R>> R execute(Class<C> commandClass,
+                                                   ParameterSource parameters, CommandContext context) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.benchmarks;
+
+import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.benchmarks.commands.FiftyParametersCommand;
+import org.commandmosaic.benchmarks.commands.OneParameterCommand;
+import org.commandmosaic.benchmarks.commands.TenParametersCommand;
+import org.commandmosaic.core.conversion.DefaultTypeConversionService;
+import org.commandmosaic.core.parameter.ParameterInjector;
+import org.commandmosaic.core.parameter.source.ParameterSources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures injecting 1, 10 and 50 parameters into a command instance.
+ */
+@State(Scope.Thread)
+public class ParameterInjectorBenchmark extends AbstractBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int parameterCount;
+
+    private ParameterInjector parameterInjector;
+    private Object command;
+    private ParameterSource parameterSource;
+
+    @Setup
+    public void setUp() {
+        switch (parameterCount) {
+            case 1:
+                command = new OneParameterCommand();
+                break;
+            case 10:
+                command = new TenParametersCommand();
+                break;
+            case 50:
+                command = new FiftyParametersCommand();
+                break;
+            default:
+                throw new IllegalStateException("Unsupported parameter count: " + parameterCount);
+        }
+
+        Map<String, Object> parameters = new HashMap<>();
+        for (int i = 0; i < parameterCount; i++) {
+            parameters.put("p" + i, "value" + i);
+        }
+
+        parameterInjector = new ParameterInjector(new DefaultTypeConversionService());
+        parameterSource = ParameterSources.mapParameterSource(parameters);
+    }
+
+    @Benchmark
+    public Object processInjection() {
+        parameterInjector.processInjection(command, parameterSource);
+        return command;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.benchmarks;
+
+import org.commandmosaic.api.conversion.TypeConversionService;
+import org.commandmosaic.core.conversion.DefaultTypeConversionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * Measures {@link TypeConversionService#convert(Object, Class)} for each
+ * built-in conversion of {@link DefaultTypeConversionService}.
+ */
+@State(Scope.Benchmark)
+public class TypeConversionBenchmark extends AbstractBenchmark {
+
+    private static final long TIMESTAMP = 1_600_000_000_000L;
+
+    public enum Conversion {
+        STRING_TO_SHORT("42", Short.class),
+        INTEGER_TO_SHORT(42, Short.class),
+        LONG_TO_SHORT(42L, Short.class),
+        DOUBLE_TO_SHORT(42.0, Short.class),
+
+        STRING_TO_INTEGER("42", Integer.class),
+        SHORT_TO_INTEGER((short) 42, Integer.class),
+        LONG_TO_INTEGER(42L, Integer.class),
+        DOUBLE_TO_INTEGER(42.0, Integer.class),
+
+        STRING_TO_LONG("42", Long.class),
+        SHORT_TO_LONG((short) 42, Long.class),
+        INTEGER_TO_LONG(42, Long.class),
+        DOUBLE_TO_LONG(42.0, Long.class),
+        DATE_TO_LONG(new Date(TIMESTAMP), Long.class),
+
+        STRING_TO_DOUBLE("42.5", Double.class),
+        SHORT_TO_DOUBLE((short) 42, Double.class),
+        INTEGER_TO_DOUBLE(42, Double.class),
+        LONG_TO_DOUBLE(42L, Double.class),
+
+        STRING_TO_BIG_DECIMAL("42.5", BigDecimal.class),
+        SHORT_TO_BIG_DECIMAL((short) 42, BigDecimal.class),
+        DOUBLE_TO_BIG_DECIMAL(42.5, BigDecimal.class),
+        INTEGER_TO_BIG_DECIMAL(42, BigDecimal.class),
+        LONG_TO_BIG_DECIMAL(42L, BigDecimal.class),
+        DATE_TO_BIG_DECIMAL(new Date(TIMESTAMP), BigDecimal.class),
+        TIMESTAMP_TO_BIG_DECIMAL(new Timestamp(TIMESTAMP), BigDecimal.class),
+
+        LONG_TO_DATE(TIMESTAMP, Date.class),
+        LONG_TO_TIMESTAMP(TIMESTAMP, Timestamp.class);
+
+        private final Object value;
+        private final Class<?> targetType;
+
+        Conversion(Object value, Class<?> targetType) {
+            this.value = value;
+            this.targetType = targetType;
+        }
+    }
+
+    @Param
+    public Conversion conversion;
+
+    private TypeConversionService typeConversionService;
+    private Object value;
+    private Class<?> targetType;
+
+    @Setup
+    public void setUp() {
+        typeConversionService = new DefaultTypeConversionService();
+        value = conversion.value;
+        targetType = conversion.targetType;
+    }
+
+    @Benchmark
+    public Object convert() {
+        return typeConversionService.convert(value, targetType);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.benchmarks.commands;
+
+import org.commandmosaic.api.Parameter;
+
+@SuppressWarnings("unused") // the parameters are injected only, so as to measure injection
+public class FiftyParametersCommand extends TenParametersCommand {
+
+    @Parameter
+    private String p10;
+
+    @Parameter
+    private String p11;
+
+    @Parameter
+    private String p12;
+
+    @Parameter
+    private String p13;
+
+    @Parameter
+    private String p14;
+
+    @Parameter
+    private String p15;
+
+    @Parameter
+    private String p16;
+
+    @Parameter
+    private String p17;
+
+    @Parameter
+    private String p18;
+
+    @Parameter
+    private String p19;
+
+    @Parameter
+    private String p20;
+
+    @Parameter
+    private String p21;
+
+    @Parameter
+    private String p22;
+
+    @Parameter
+    private String p23;
+
+    @Parameter
+    private String p24;
+
+    @Parameter
+    private String p25;
+
+    @Parameter
+    private String p26;
+
+    @Parameter
+    private String p27;
+
+    @Parameter
+    private String p28;
+
+    @Parameter
+    private String p29;
+
+    @Parameter
+    private String p30;
+
+    @Parameter
+    private String p31;
+
+    @Parameter
+    private String p32;
+
+    @Parameter
+    private String p33;
+
+    @Parameter
+    private String p34;
+
+    @Parameter
+    private String p35;
+
+    @Parameter
+    private String p36;
+
+    @Parameter
+    private String p37;
+
+    @Parameter
+    private String p38;
+
+    @Parameter
+    private String p39;
+
+    @Parameter
+    private String p40;
+
+    @Parameter
+    private String p41;
+
+    @Parameter
+    private String p42;
+
+    @Parameter
+    private String p43;
+
+    @Parameter
+    private String p44;
+
+    @Parameter
+    private String p45;
+
+    @Parameter
+    private String p46;
+
+    @Parameter
+    private String p47;
+
+    @Parameter
+    private String p48;
+
+    @Parameter
+    private String p49;
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.benchmarks.commands;
+
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.api.Parameter;
+
+/**
+ * Command with a single parameter. {@link TenParametersCommand} and {@link FiftyParametersCommand}
+ * extend this class, so injection also walks the class hierarchy, as for real-world command base classes.
+ */
+public class OneParameterCommand implements Command<String> {
+
+    @Parameter
+    private String p0;
+
+    @Override
+    public String execute(CommandContext context) {
+        return p0;
+    }
+}
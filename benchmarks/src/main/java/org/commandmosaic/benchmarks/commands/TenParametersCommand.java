@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.benchmarks.commands;
+
+import org.commandmosaic.api.Parameter;
+
+@SuppressWarnings("unused") // the parameters are injected only, so as to measure injection
+public class TenParametersCommand extends OneParameterCommand {
+
+    @Parameter
+    private String p1;
+
+    @Parameter
+    private String p2;
+
+    @Parameter
+    private String p3;
+
+    @Parameter
+    private String p4;
+
+    @Parameter
+    private String p5;
+
+    @Parameter
+    private String p6;
+
+    @Parameter
+    private String p7;
+
+    @Parameter
+    private String p8;
+
+    @Parameter
+    private String p9;
+}
@@ -20,17 +20,40 @@ package org.commandmosaic.core;
 import org.commandmosaic.api.Command;
 import org.commandmosaic.api.CommandDispatcher;
 import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.api.CommandInvocation;
 import org.commandmosaic.api.executor.CommandExecutor;
 import org.commandmosaic.api.configuration.CommandDispatcherConfiguration;
 
 import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.api.configuration.conversion.TypeConversion;
 import org.commandmosaic.api.server.NoSuchCommandException;
+import org.commandmosaic.core.conversion.DefaultTypeConversionService;
+import org.commandmosaic.core.executor.PreparableCommandExecutor;
+import org.commandmosaic.core.interceptor.InterceptorChain;
+import org.commandmosaic.core.parameter.ParameterTypes;
 import org.commandmosaic.core.parameter.source.ParameterSources;
+import org.commandmosaic.core.registry.CommandRegistry;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 public class DefaultCommandDispatcher implements CommandDispatcher {
 
@@ -39,6 +62,11 @@ public class DefaultCommandDispatcher implements CommandDispatcher {
     protected final String rootPackageName;
 
     private final CommandExecutor commandExecutor;
+    private final CommandRegistry commandRegistry;
+    private final Executor dispatchExecutor;
+
+    private final Set<Class<?>> conversionTargetTypes;
+    private final Map<Class<?>, Map<String, Type>> parameterTypesCache = new ConcurrentHashMap<>();
 
     public DefaultCommandDispatcher(CommandDispatcherConfiguration configuration, CommandExecutor commandExecutor) {
 
@@ -51,6 +79,81 @@ public class DefaultCommandDispatcher implements CommandDispatcher {
             throw new IllegalArgumentException("CommandDispatcher package name cannot be empty");
         }
         this.commandExecutor = commandExecutor;
+        this.commandRegistry = new CommandRegistry(rootPackageName);
+        this.dispatchExecutor = configuration.getDispatchExecutor();
+
+        // values of these types must always be passed through the TypeConversionService
+        Set<Class<?>> conversionTargetTypes = new HashSet<>(DefaultTypeConversionService.getRestrictedTargetTypes());
+        if (configuration.getTypeConversions() != null) {
+            for (TypeConversion<?, ?> typeConversion : configuration.getTypeConversions()) {
+                conversionTargetTypes.add(typeConversion.getTargetType());
+            }
+        }
+        this.conversionTargetTypes = Collections.unmodifiableSet(conversionTargetTypes);
+
+        prepareInterceptors();
+
+        if (configuration.isEagerInitialization()) {
+            prepareCommands();
+        }
+    }
+
+    /**
+     * Prepares the interception of every command in the {@link CommandRegistry}, regardless of
+     * eager initialization: a command misconfigured for an interceptor (e.g. with conflicting
+     * access annotations) fails the creation of the dispatcher, instead of its first dispatch.
+     */
+    private void prepareInterceptors() {
+        if (!(commandExecutor instanceof InterceptorChain)) {
+            return;
+        }
+
+        InterceptorChain interceptorChain = (InterceptorChain) commandExecutor;
+
+        List<Class<?>> misconfiguredCommandClasses = new ArrayList<>();
+        List<RuntimeException> failures = new ArrayList<>();
+        for (Class<? extends Command<?>> commandClass : commandRegistry.getCommandClasses()) {
+            try {
+                interceptorChain.prepareInterceptors(commandClass);
+            } catch (RuntimeException e) {
+                misconfiguredCommandClasses.add(commandClass);
+                failures.add(e);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            IllegalStateException exception = new IllegalStateException(
+                    "Command(s) misconfigured for the interceptors: " + misconfiguredCommandClasses, failures.get(0));
+            for (int i = 1; i < failures.size(); i++) {
+                exception.addSuppressed(failures.get(i));
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Prepares the execution of every command in the {@link CommandRegistry} upfront
+     * (if the {@code CommandExecutor} supports it), so that the first dispatch of a command
+     * does not have to pay for the one-off lookups (constructors, parameter metadata etc.).
+     * This method is final, as it is called from the constructor, if eager initialization is configured.
+     */
+    public final void prepareCommands() {
+        if (!(commandExecutor instanceof PreparableCommandExecutor)) {
+            log.debug("CommandExecutor {} does not support preparing commands", commandExecutor);
+            return;
+        }
+
+        PreparableCommandExecutor preparableCommandExecutor = (PreparableCommandExecutor) commandExecutor;
+        for (Class<? extends Command<?>> commandClass : commandRegistry.getCommandClasses()) {
+            try {
+                preparableCommandExecutor.prepare(commandClass);
+            } catch (RuntimeException e) {
+                // the command might never be used: report, but do not prevent startup
+                log.warn("Failed to prepare command {}", commandClass, e);
+            }
+        }
+
+        log.info("Prepared {} command(s) for execution", commandRegistry.getCommandClasses().size());
     }
 
     @Override
@@ -81,6 +184,89 @@ public class DefaultCommandDispatcher implements CommandDispatcher {
         return dispatchClass(prototypeClass, parameterSource, context);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If a {@code dispatchExecutor} is configured, the first command is executed on the calling
+     * thread (which would only wait otherwise) and the others are submitted to the {@code dispatchExecutor},
+     * to be executed concurrently. Before waiting for them, the calling thread executes the commands
+     * the {@code dispatchExecutor} has rejected or not started yet itself: as a result, commands executed
+     * on a saturated or bounded {@code dispatchExecutor} can call this method as well, without failing or
+     * waiting for commands queued behind themselves. Each command receives its own copy of {@code context}, made on the
+     * calling thread.
+     * </p>
+     */
+    @Override
+    public List<Object> dispatchAll(Collection<? extends CommandInvocation<?>> invocations,
+                                    CommandContext context) {
+
+        Objects.requireNonNull(invocations, "argument invocations cannot be null");
+
+        if (dispatchExecutor == null || invocations.size() < 2) {
+            List<Object> results = new ArrayList<>(invocations.size());
+            for (CommandInvocation<?> invocation : invocations) {
+                results.add(dispatchInvocation(invocation, IsolatedCommandContext.copyOf(context)));
+            }
+            return results;
+        }
+
+        List<DispatchTask> tasks = new ArrayList<>(invocations.size());
+        for (CommandInvocation<?> invocation : invocations) {
+            CommandContext invocationContext = IsolatedCommandContext.copyOf(context);
+            tasks.add(new DispatchTask(() -> dispatchInvocation(invocation, invocationContext)));
+        }
+
+        for (DispatchTask task : tasks.subList(1, tasks.size())) {
+            try {
+                dispatchExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // the task is left unclaimed: the calling thread executes it below
+                log.debug("Dispatch executor rejected command, executing it on the calling thread", e);
+            }
+        }
+
+        // the first command, then the ones the executor has not started yet
+        for (DispatchTask task : tasks) {
+            task.run();
+        }
+
+        return awaitResults(tasks);
+    }
+
+    private <R> R dispatchInvocation(CommandInvocation<R> invocation, CommandContext context) {
+        return dispatchCommand(invocation.getCommandClass(), invocation.getParameters(), context);
+    }
+
+    private static List<Object> awaitResults(List<DispatchTask> tasks) {
+        List<Object> results = new ArrayList<>(tasks.size());
+        Throwable failure = null;
+
+        // all commands are awaited, so that none of them outlives the dispatch
+        for (DispatchTask task : tasks) {
+            try {
+                results.add(task.result.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (failure == null) {
+                    failure = cause;
+                } else if (cause != failure) { // commands might fail with a shared exception instance
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure != null) { // should not happen: commands cannot throw checked exceptions
+            throw new IllegalStateException(failure);
+        }
+
+        return results;
+    }
+
     private <R, C extends Command<R>> R dispatchClass(
             Class<C> commandClass, ParameterSource parameters, CommandContext context) {
 
@@ -93,26 +279,66 @@ public class DefaultCommandDispatcher implements CommandDispatcher {
 
 
     protected Class<? extends Command<Object>> resolveCommandClass(String commandName) {
+        @SuppressWarnings("unchecked") // the registry only holds Command implementations
+        Class<? extends Command<Object>> commandClass =
+                (Class<? extends Command<Object>>) commandRegistry.getCommandClass(commandName);
+        return commandClass;
+    }
+
+    /**
+     * Returns the types the parameters of the named command are injected as, keyed by parameter
+     * name. Parameters referring to a type handled by a custom type conversion, or to one of the
+     * {@linkplain DefaultTypeConversionService#getRestrictedTargetTypes() restricted target types}
+     * are omitted, so that their values are passed to the {@code TypeConverter} as they are received.
+     *
+     * @param commandName the name of the command
+     *
+     * @return the parameter types or {@code null}, if there is no such command
+     */
+    public Map<String, Type> getParameterTypes(String commandName) {
+        Class<? extends Command<?>> commandClass;
         try {
-            String commandRelativeClass = commandName.replaceAll("/", ".");
-            String className = String.format("%s.%s", rootPackageName, commandRelativeClass);
+            commandClass = commandRegistry.getCommandClass(commandName);
+        } catch (NoSuchCommandException e) {
+            return null;
+        }
 
-            log.debug("Resolved command '{}' to class name '{}'", commandName, className);
+        return parameterTypesCache.computeIfAbsent(commandClass, this::loadParameterTypes);
+    }
 
-            Class<?> loadedClass = Class.forName(className);
+    private Map<String, Type> loadParameterTypes(Class<?> commandClass) {
+        Map<String, Type> parameterTypes = ParameterTypes.getParameterTypes(commandClass);
+        parameterTypes.values().removeIf(type ->
+                refersToConversionTargetType(TypeFactory.defaultInstance().constructType(type)));
 
-            if (!Command.class.isAssignableFrom(loadedClass)) {
-                throw new IllegalArgumentException("The supplied name does not identify a command: " + commandName);
-            }
+        return Collections.unmodifiableMap(parameterTypes);
+    }
 
-            @SuppressWarnings("unchecked") // previous if statement guards type cast
-            Class<? extends Command<Object>> commandClass = (Class<? extends Command<Object>>) loadedClass;
-            return commandClass;
+    private boolean refersToConversionTargetType(JavaType javaType) {
+        if (conversionTargetTypes.contains(javaType.getRawClass())) {
+            return true;
+        }
 
-        } catch (ClassNotFoundException e) {
-            throw new NoSuchCommandException("No such command: " + commandName);
+        // e.g. List<Date> or Date[]
+        if (javaType.getContentType() != null && refersToConversionTargetType(javaType.getContentType())) {
+            return true;
         }
+        for (int i = 0; i < javaType.containedTypeCount(); i++) {
+            if (refersToConversionTargetType(javaType.containedType(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
 
+    /**
+     * Returns the {@link CommandRegistry} holding the commands
+     * this {@code CommandDispatcher} exposes by name.
+     *
+     * @return the {@code CommandRegistry} (never {@code null})
+     */
+    public CommandRegistry getCommandRegistry() {
+        return commandRegistry;
     }
 
     @Override
@@ -122,4 +348,32 @@ public class DefaultCommandDispatcher implements CommandDispatcher {
                 .append("rootPackageName='").append(rootPackageName).append('\'')
                 .append('}').toString();
     }
+
+    /**
+     * A command of {@code dispatchAll}, executed by whichever thread claims it first:
+     * a thread of the {@code dispatchExecutor}, or the thread waiting for the command.
+     */
+    private static final class DispatchTask implements Runnable {
+
+        private final Supplier<Object> command;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private DispatchTask(Supplier<Object> command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                result.complete(command.get());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core;
+
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.core.server.context.DefaultCommandContext;
+
+import java.security.Principal;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>
+ * A {@code CommandContext} passed to a command dispatched via
+ * {@link DefaultCommandDispatcher#dispatchAll(java.util.Collection, CommandContext)}:
+ * attributes set by the command are not visible to the other commands dispatched
+ * together with it, nor to the caller.
+ * </p>
+ *
+ * <p>
+ * A {@link DefaultCommandContext} is simply copied. Any other {@code CommandContext} is
+ * wrapped: its attributes stay visible, but cannot be re-defined, as their
+ * {@code AttributeType} is unknown.
+ * </p>
+ */
+final class IsolatedCommandContext implements CommandContext {
+
+    private final CommandContext parent;
+    private final DefaultCommandContext attributes = new DefaultCommandContext();
+
+    private IsolatedCommandContext(CommandContext parent) {
+        this.parent = parent;
+    }
+
+    static CommandContext copyOf(CommandContext context) {
+        if (context == null) {
+            return null;
+        }
+        if (context instanceof DefaultCommandContext) {
+            return new DefaultCommandContext((DefaultCommandContext) context);
+        }
+        return new IsolatedCommandContext(context);
+    }
+
+    @Override
+    public Map<String, Object> getAuth() {
+        return parent.getAuth();
+    }
+
+    @Override
+    public Principal getCallerPrincipal() {
+        return parent.getCallerPrincipal();
+    }
+
+    @Override
+    public Iterable<String> getAttributeNames() {
+        Set<String> attributeNames = new LinkedHashSet<>();
+        parent.getAttributeNames().forEach(attributeNames::add);
+        attributes.getAttributeNames().forEach(attributeNames::add);
+        return attributeNames;
+    }
+
+    @Override
+    public boolean containsAttribute(String key) {
+        return attributes.containsAttribute(key) || parent.containsAttribute(key);
+    }
+
+    @Override
+    public <T> Optional<T> getAttribute(String key, Class<T> desiredClass) {
+        if (attributes.containsAttribute(key)) {
+            return attributes.getAttribute(key, desiredClass);
+        }
+        return parent.getAttribute(key, desiredClass);
+    }
+
+    @Override
+    public void setAttribute(String key, Object value, AttributeType attributeType) {
+        if (parent.containsAttribute(key)) {
+            throw new IllegalStateException("An Attribute of the parent context cannot be re-defined: ["+key+"]");
+        }
+        attributes.setAttribute(key, value, attributeType);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("IsolatedCommandContext{");
+        sb.append("parent=").append(parent);
+        sb.append(", attributes=").append(attributes);
+        sb.append('}');
+        return sb.toString();
+    }
+}
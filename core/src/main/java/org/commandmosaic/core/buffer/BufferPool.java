@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.buffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * <p>
+ * A pool of {@link PooledBuffer}s, used by transports to hold request and response
+ * bodies in memory, without allocating (and growing) a new array for each request.
+ * </p>
+ *
+ * <p>
+ * At most {@code maxPooledBuffers} buffers are kept in the pool: further buffers
+ * released are left to the garbage collector, just like buffers that grew beyond
+ * {@code maxRetainedCapacity}, so that a few large requests do not pin a lot of memory.
+ * </p>
+ *
+ * <p>
+ * {@code BufferPool} instances are Thread-safe.
+ * </p>
+ */
+public final class BufferPool {
+
+    private static final Logger log = LoggerFactory.getLogger(BufferPool.class);
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8 * 1024;
+    private static final int DEFAULT_MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private final ArrayBlockingQueue<PooledBuffer> buffers;
+    private final int initialCapacity;
+    private final int maxRetainedCapacity;
+
+    public BufferPool() {
+        this(Runtime.getRuntime().availableProcessors() * 4, DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_RETAINED_CAPACITY);
+    }
+
+    public BufferPool(int maxPooledBuffers, int initialCapacity, int maxRetainedCapacity) {
+        if (maxPooledBuffers < 1) {
+            throw new IllegalArgumentException("maxPooledBuffers must be positive: " + maxPooledBuffers);
+        }
+        if (initialCapacity < 1 || initialCapacity > maxRetainedCapacity) {
+            throw new IllegalArgumentException("initialCapacity must be between 1 and maxRetainedCapacity: "
+                    + initialCapacity);
+        }
+
+        this.buffers = new ArrayBlockingQueue<>(maxPooledBuffers);
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    /**
+     * Returns an empty {@code PooledBuffer}, which is either taken from the pool,
+     * or newly created, if the pool is empty.
+     *
+     * @return an empty {@code PooledBuffer} (never {@code null})
+     */
+    public PooledBuffer acquire() {
+        PooledBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new PooledBuffer(this, initialCapacity);
+        }
+
+        buffer.acquired();
+        return buffer;
+    }
+
+    void release(PooledBuffer buffer) {
+        if (buffer.capacity() <= maxRetainedCapacity) {
+            buffer.reset();
+            if (!buffers.offer(buffer)) {
+                log.trace("BufferPool is full, {} is discarded", buffer);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BufferPool{");
+        sb.append("pooledBuffers=").append(buffers.size());
+        sb.append(", initialCapacity=").append(initialCapacity);
+        sb.append(", maxRetainedCapacity=").append(maxRetainedCapacity);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.buffer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A growable in-memory buffer acquired from a {@link BufferPool}: bytes are written to it
+ * either as an {@code OutputStream} or via {@link #readFrom(InputStream)}, and can then be
+ * read back via {@link #toInputStream()} or {@link #writeTo(OutputStream, int, int)},
+ * without copying the content.
+ * </p>
+ *
+ * <p>
+ * Once the content is no longer needed, the buffer has to be returned to the pool by calling
+ * {@link #release()}; the buffer must not be used afterwards. Closing the buffer (e.g. by a
+ * marshaller writing to it) does <b>not</b> release it.
+ * </p>
+ *
+ * <p>
+ * {@code PooledBuffer} instances are <b>NOT</b> Thread-safe: they must only be handed over
+ * to another thread in a way establishing a <i>happens-before</i> relation (e.g. via an
+ * {@code Executor} or a {@code CompletionStage}).
+ * </p>
+ */
+public final class PooledBuffer extends OutputStream {
+
+    private static final int MIN_READ_SIZE = 1024;
+
+    private final BufferPool bufferPool;
+
+    private byte[] buffer;
+    private int count;
+    private boolean released;
+
+    PooledBuffer(BufferPool bufferPool, int initialCapacity) {
+        this.bufferPool = bufferPool;
+        this.buffer = new byte[initialCapacity];
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        Objects.requireNonNull(bytes, "argument bytes cannot be null");
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+        }
+
+        ensureCapacity(count + length);
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+
+    /**
+     * Reads the bytes available from the {@code InputStream} into this buffer with a single
+     * {@code read} call: the call only blocks if {@code read} of the {@code InputStream} does.
+     *
+     * @param inputStream the stream to read from
+     *
+     * @return the number of bytes read, or {@code -1} if the end of the stream has been reached
+     *
+     * @throws IOException if reading from the stream fails
+     */
+    public int readFrom(InputStream inputStream) throws IOException {
+        ensureCapacity(count + MIN_READ_SIZE);
+
+        int bytesRead = inputStream.read(buffer, count, buffer.length - count);
+        if (bytesRead > 0) {
+            count += bytesRead;
+        }
+        return bytesRead;
+    }
+
+    /**
+     * Writes at most {@code maxLength} bytes of the content to the {@code OutputStream},
+     * starting from {@code offset}.
+     *
+     * @param outputStream the stream to write to
+     * @param offset the offset of the first byte to write
+     * @param maxLength the maximal number of bytes to write
+     *
+     * @return the number of bytes written
+     *
+     * @throws IOException if writing to the stream fails
+     */
+    public int writeTo(OutputStream outputStream, int offset, int maxLength) throws IOException {
+        if (offset < 0 || offset > count) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", size: " + count);
+        }
+
+        int length = Math.min(maxLength, count - offset);
+        outputStream.write(buffer, offset, length);
+        return length;
+    }
+
+    /**
+     * Returns an {@code InputStream} reading the current content of this buffer (without copying it).
+     *
+     * @return an {@code InputStream} reading the content
+     */
+    public InputStream toInputStream() {
+        return new ByteArrayInputStream(buffer, 0, count);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    void reset() {
+        count = 0;
+    }
+
+    void acquired() {
+        released = false;
+    }
+
+    /**
+     * Returns this buffer to the {@code BufferPool} it has been acquired from.
+     * Calling this method again, before the buffer is acquired again, has no effect.
+     */
+    public void release() {
+        if (!released) {
+            released = true;
+            bufferPool.release(this);
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buffer.length) {
+            int newCapacity = Math.max(buffer.length * 2, minCapacity);
+            buffer = Arrays.copyOf(buffer, newCapacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("PooledBuffer{");
+        sb.append("size=").append(count);
+        sb.append(", capacity=").append(buffer.length);
+        sb.append('}');
+        return sb.toString();
+    }
+}
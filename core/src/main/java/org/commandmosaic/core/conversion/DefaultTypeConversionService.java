@@ -17,7 +17,11 @@
 
 package org.commandmosaic.core.conversion;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.commandmosaic.api.configuration.conversion.TypeConversion;
 import org.commandmosaic.api.conversion.TypeConversionException;
 import org.commandmosaic.api.conversion.TypeConversionService;
@@ -25,9 +29,14 @@ import org.commandmosaic.api.conversion.TypeConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public class DefaultTypeConversionService implements TypeConversionService {
 
@@ -35,6 +44,8 @@ public class DefaultTypeConversionService implements TypeConversionService {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final TypeConverter<?, ?> IDENTITY_CONVERTER = value -> value;
+
 
     /*
      NOTE: we intentionally DISABLE conversion between int and Date,
@@ -101,20 +112,65 @@ public class DefaultTypeConversionService implements TypeConversionService {
     );
 
     private static <S, T> TypeConversion<S, T> unsupportedTypeConversion(Class<S> sourceType, Class<T> targetType) {
-        return new TypeConversion<>(sourceType, targetType,
-                source -> {
-                    throw new TypeConversionException(
-                            String.format("Conversion from %s to %s is not supported", sourceType, targetType));
-                });
+        return new TypeConversion<>(sourceType, targetType, new UnsupportedTypeConverter<>(sourceType, targetType));
+    }
+
+    /**
+     * The types JSON scalar values (strings and numbers) are read as, when read as generic values.
+     */
+    private static final Set<Class<?>> jsonScalarTypes = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            String.class, Integer.class, Long.class, Double.class, BigInteger.class, BigDecimal.class)));
+
+    private static final Set<Class<?>> restrictedTargetTypes = Collections.unmodifiableSet(
+            standardTypeTypeConversions.stream()
+                    .filter(tc -> tc.getConverter() instanceof UnsupportedTypeConverter
+                            && jsonScalarTypes.contains(tc.getSourceType()))
+                    .map(TypeConversion::getTargetType)
+                    .collect(Collectors.toSet()));
+
+    /**
+     * Returns the target types, which the built-in conversions intentionally refuse to convert
+     * some JSON scalar values to (e.g. an {@code Integer} to {@code Date}). Values of parameters
+     * of these types must pass through the {@code TypeConversionService}: deserializing
+     * them directly into these types would bypass the restriction.
+     *
+     * @return an immutable set of target types
+     */
+    public static Set<Class<?>> getRestrictedTargetTypes() {
+        return restrictedTargetTypes;
+    }
+
+    private static final class UnsupportedTypeConverter<S, T> implements TypeConverter<S, T> {
+
+        private final Class<S> sourceType;
+        private final Class<T> targetType;
+
+        private UnsupportedTypeConverter(Class<S> sourceType, Class<T> targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public T convert(S source) {
+            throw new TypeConversionException(
+                    String.format("Conversion from %s to %s is not supported", sourceType, targetType));
+        }
     }
 
 
     /**
      * Map keyed by <b>Source Type</b>, which contains Maps
      * keyed by <b>Target Type</b>, with values being the TypeConverter
+     * (wrapped once, so that failures are reported as {@code TypeConversionException})
      */
     private final Map<Class<?>, Map<Class<?>, TypeConverter<?, ?>>> typeConverters;
 
+    /**
+     * Converters using the ObjectMapper, keyed by <b>Target Type</b>
+     * (either a {@code Class} or a resolved {@code JavaType})
+     */
+    private final Map<Type, TypeConverter<?, ?>> objectMapperConverters = new ConcurrentHashMap<>();
+
     public DefaultTypeConversionService() {
         this(Collections.emptyList());
     }
@@ -146,13 +202,12 @@ public class DefaultTypeConversionService implements TypeConversionService {
             Map<Class<?>, TypeConverter<?, ?>> targetToTypeConverterMap =
                     sourceToTargetAndConverterMap.computeIfAbsent(sourceType, (t) -> new HashMap<>());
 
-            targetToTypeConverterMap.put(targetType, tc.getConverter());
+            targetToTypeConverterMap.put(targetType, wrapFailures(tc.getConverter()));
             log.trace("Added TypeConversion: {}", tc);
         }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <S, T> T convert(S value, Class<T> targetType) {
 
         if (targetType == null) {
@@ -164,36 +219,149 @@ public class DefaultTypeConversionService implements TypeConversionService {
             return null;
         }
 
-        final Class<?> sourceType = value.getClass();
+        @SuppressWarnings("unchecked")
+        final Class<S> sourceType = (Class<S>) value.getClass();
+
+        return getConverter(sourceType, targetType).convert(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S, T> TypeConverter<S, T> getConverter(Class<S> sourceType, Class<T> targetType) {
+
+        Objects.requireNonNull(sourceType, "argument sourceType cannot be null");
+        Objects.requireNonNull(targetType, "argument targetType cannot be null");
+
         if (targetType == sourceType
                 || targetType.isAssignableFrom(sourceType)) {
-            log.trace("No conversion is required, returning the input value");
-            return (T) value;
+            log.trace("No conversion is required from {} to {}", sourceType, targetType);
+            return (TypeConverter<S, T>) IDENTITY_CONVERTER;
         }
 
-
         TypeConverter<S, T> typeConverter = null;
         final Map<Class<?>, TypeConverter<?, ?>> targetTypeToConverterMap = typeConverters.get(sourceType);
         if (targetTypeToConverterMap != null) {
             typeConverter = (TypeConverter<S, T>) targetTypeToConverterMap.get(targetType);
         }
 
-        try {
-            if (typeConverter != null) {
-                log.debug("Converting value '{}' from {} to {} using simple conversion", value, sourceType, targetType);
-                return typeConverter.convert(value);
-            } else {
-                log.debug("Converting value '{}' from {} to {} using ObjectMapper", value, sourceType, targetType);
-                return objectMapper.convertValue(value, targetType);
+        if (typeConverter != null) {
+            log.trace("Converting from {} to {} using simple conversion", sourceType, targetType);
+            return typeConverter;
+        } else {
+            log.trace("Converting from {} to {} using ObjectMapper", sourceType, targetType);
+            return (TypeConverter<S, T>) objectMapperConverters.computeIfAbsent(
+                    targetType, DefaultTypeConversionService::objectMapperConverter);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S> TypeConverter<S, Object> getConverter(Class<S> sourceType, Type targetType) {
+
+        Objects.requireNonNull(sourceType, "argument sourceType cannot be null");
+        Objects.requireNonNull(targetType, "argument targetType cannot be null");
+
+        if (targetType instanceof Class) {
+            return (TypeConverter<S, Object>) getConverter(sourceType, (Class<?>) targetType);
+        }
+
+        JavaType javaType = objectMapper.constructType(targetType);
+        if (!javaType.hasGenericTypes() && !javaType.isContainerType()) {
+            return (TypeConverter<S, Object>) getConverter(sourceType, javaType.getRawClass());
+        }
+
+        if (javaType.hasRawClass(Optional.class)) {
+            // no Jdk8Module is registered: Optional is handled here, converting its content type
+            return (TypeConverter<S, Object>) optionalConverter(javaType.containedTypeOrUnknown(0));
+        }
+
+        TypeConverter<Object, Object> objectMapperConverter = (TypeConverter<Object, Object>)
+                objectMapperConverters.computeIfAbsent(javaType, DefaultTypeConversionService::objectMapperConverter);
+
+        if (!javaType.isTypeOrSuperTypeOf(sourceType)) {
+            log.trace("Converting from {} to {} using ObjectMapper", sourceType, javaType);
+            return (TypeConverter<S, Object>) objectMapperConverter;
+        }
+
+        if (!javaType.isContainerType()) {
+            log.trace("No conversion is required from {} to {}", sourceType, javaType);
+            return (TypeConverter<S, Object>) IDENTITY_CONVERTER;
+        }
+
+        // a container of the right raw type is passed through as-is, if its content already matches
+        return value -> hasMatchingContent(value, javaType) ? value : objectMapperConverter.convert(value);
+    }
+
+    private TypeConverter<Object, Object> optionalConverter(JavaType contentType) {
+        return value -> {
+            Object content = value instanceof Optional ? ((Optional<?>) value).orElse(null) : value;
+            if (content == null) {
+                return Optional.empty();
             }
 
-        } catch (TypeConversionException e) {
-            log.warn("Type conversion failed", e);
-            throw e;
-        } catch (RuntimeException e) {
-            log.warn("Type conversion failed", e);
-            throw new TypeConversionException("Type conversion failed", e);
+            @SuppressWarnings("unchecked")
+            Class<Object> contentSourceType = (Class<Object>) content.getClass();
+            return Optional.ofNullable(getConverter(contentSourceType, contentType).convert(content));
+        };
+    }
+
+    private static boolean hasMatchingContent(Object value, JavaType type) {
+        if (!type.isTypeOrSuperTypeOf(value.getClass())) {
+            return false;
+        }
+
+        if (type.isCollectionLikeType() && value instanceof Collection) {
+            JavaType contentType = type.getContentType();
+            for (Object element : (Collection<?>) value) {
+                if (element != null && !hasMatchingContent(element, contentType)) {
+                    return false;
+                }
+            }
+        } else if (type.isMapLikeType() && value instanceof Map) {
+            JavaType keyType = type.getKeyType();
+            JavaType contentType = type.getContentType();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (entry.getKey() != null && !hasMatchingContent(entry.getKey(), keyType)
+                        || entry.getValue() != null && !hasMatchingContent(entry.getValue(), contentType)) {
+                    return false;
+                }
+            }
+        } else if (type.isContainerType()) {
+            // arrays and other containers are not inspected element-wise
+            return !type.getContentType().hasGenericTypes() && type.getRawClass().isInstance(value);
         }
+
+        return true;
+    }
+
+    private static TypeConverter<Object, Object> objectMapperConverter(Type targetType) {
+        // the deserializer of the target type is resolved once, when the reader is created
+        ObjectReader objectReader = objectMapper.readerFor(objectMapper.constructType(targetType));
+
+        return wrapFailures(value -> {
+            try (TokenBuffer tokenBuffer = new TokenBuffer(objectMapper, false)) {
+                objectMapper.writeValue(tokenBuffer, value);
+                try (JsonParser parser = tokenBuffer.asParser()) {
+                    return objectReader.readValue(parser);
+                }
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        });
+    }
+
+    private static <S, T> TypeConverter<S, T> wrapFailures(TypeConverter<S, T> typeConverter) {
+        return value -> {
+            try {
+                return typeConverter.convert(value);
+            } catch (TypeConversionException e) {
+                log.warn("Type conversion failed", e);
+                throw e;
+            } catch (RuntimeException e) {
+                log.warn("Type conversion failed", e);
+                throw new TypeConversionException("Type conversion failed", e);
+            }
+        };
     }
 
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.core.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Instantiates command classes through their no-argument constructor.
+ * </p>
+ *
+ * <p>
+ * The constructor of each class is looked up and made accessible only once:
+ * it is cached as a {@code MethodHandle}, either lazily on the first
+ * instantiation or eagerly via {@link #prepare(Class)}.
+ * </p>
+ */
+public final class CommandInstantiator {
+
+    private static final Logger log = LoggerFactory.getLogger(CommandInstantiator.class);
+
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+
+    private final Map<Class<?>, MethodHandle> constructorCache = new ConcurrentHashMap<>(256);
+
+    /**
+     * Creates a new instance of the class specified.
+     *
+     * @param commandClass the class to instantiate
+     * @param <C> the type of the class
+     *
+     * @return the new instance
+     *
+     * @throws RuntimeException if the class cannot be instantiated
+     */
+    public <C> C instantiate(Class<C> commandClass) {
+        MethodHandle constructor = getConstructor(commandClass);
+        try {
+            return commandClass.cast(constructor.invokeExact());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // checked exception, thrown by the constructor
+            throw new RuntimeException("Failed to instantiate Command: " + commandClass, e);
+        }
+    }
+
+    /**
+     * Looks up and caches the constructor of the class specified,
+     * so that subsequent instantiations do not have to.
+     *
+     * @param commandClass the class to prepare the instantiation of
+     *
+     * @throws RuntimeException if the class has no suitable constructor
+     */
+    public void prepare(Class<?> commandClass) {
+        getConstructor(commandClass);
+    }
+
+    private MethodHandle getConstructor(Class<?> commandClass) {
+        Objects.requireNonNull(commandClass, "argument commandClass cannot be null");
+
+        MethodHandle constructor = constructorCache.get(commandClass);
+        if (constructor == null) {
+            constructor = constructorCache.computeIfAbsent(commandClass, CommandInstantiator::unreflectConstructor);
+        }
+        return constructor;
+    }
+
+    private static MethodHandle unreflectConstructor(Class<?> commandClass) {
+        log.debug("Looking up constructor of {}", commandClass);
+        try {
+            Constructor<?> constructor = commandClass.getDeclaredConstructor();
+            if (!Modifier.isPublic(constructor.getModifiers())
+                    || !Modifier.isPublic(commandClass.getModifiers())) {
+                constructor.setAccessible(true);
+            }
+
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(FACTORY_TYPE);
+
+        } catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
+            throw new RuntimeException("Failed to instantiate Command: " + commandClass, e);
+        }
+    }
+}
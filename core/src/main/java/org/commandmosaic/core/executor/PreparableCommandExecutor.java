@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.core.executor;
+
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.executor.CommandExecutor;
+
+/**
+ * A {@link CommandExecutor}, which is capable of building the per-class
+ * structures required to execute a command (e.g. constructor factories,
+ * parameter injection metadata) upfront, instead of on the first execution.
+ */
+public interface PreparableCommandExecutor extends CommandExecutor {
+
+    /**
+     * Prepares the execution of the command class specified.
+     *
+     * @param commandClass the command class to prepare the execution of
+     */
+    void prepare(Class<? extends Command<?>> commandClass);
+}
@@ -26,10 +26,11 @@ import org.commandmosaic.api.factory.CommandDispatcherFactory;
 import org.commandmosaic.api.interceptor.CommandInterceptor;
 import org.commandmosaic.core.DefaultCommandDispatcher;
 import org.commandmosaic.core.conversion.DefaultTypeConversionService;
-import org.commandmosaic.core.interceptor.InterceptorHandler;
+import org.commandmosaic.core.interceptor.InterceptorChain;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -52,6 +53,19 @@ public abstract class AbstractCommandDispatcherFactory implements CommandDispatc
             log.info("No interceptors configured");
         }
 
+        return createCommandDispatcher(configuration, commandExecutor);
+    }
+
+    /**
+     * Creates the {@code CommandDispatcher} instance. Subclasses may override this method
+     * to e.g. customize the initialization of the dispatcher.
+     *
+     * @param configuration the configuration of the dispatcher
+     * @param commandExecutor the (potentially intercepted) executor of the commands
+     * @return the new {@code CommandDispatcher}
+     */
+    protected DefaultCommandDispatcher createCommandDispatcher(CommandDispatcherConfiguration configuration,
+                                                               CommandExecutor commandExecutor) {
         return new DefaultCommandDispatcher(configuration, commandExecutor);
     }
 
@@ -75,23 +89,16 @@ public abstract class AbstractCommandDispatcherFactory implements CommandDispatc
             throw new IllegalStateException("Interceptor class list cannot be null or empty");
         }
 
-        log.trace("Building interceptor chain; from last to first");
-
-        CommandExecutor currentCommandExecutor = commandExecutor;
-
-        final int lastIndexInList = interceptorClasses.size() - 1;
-        for (int i = lastIndexInList; i >= 0; i--) {
-
-            Class<? extends CommandInterceptor> commandInterceptorClass = interceptorClasses.get(i);
-
+        List<CommandInterceptor> interceptors = new ArrayList<>(interceptorClasses.size());
+        for (Class<? extends CommandInterceptor> commandInterceptorClass : interceptorClasses) {
             log.trace("Retrieving interceptor instance: {}", commandInterceptorClass);
-            CommandInterceptor interceptorInstance = getCommandInterceptor(commandInterceptorClass);
-
-            currentCommandExecutor = new InterceptorHandler(interceptorInstance, currentCommandExecutor);
+            interceptors.add(getCommandInterceptor(commandInterceptorClass));
         }
 
-        log.trace("Interceptor chain created: {}", currentCommandExecutor);
-        return currentCommandExecutor;
+        InterceptorChain interceptorChain = new InterceptorChain(interceptors, commandExecutor);
+
+        log.trace("Interceptor chain created: {}", interceptorChain);
+        return interceptorChain;
     }
 
     protected CommandInterceptor getCommandInterceptor(Class<? extends CommandInterceptor> commandInterceptorClass) {
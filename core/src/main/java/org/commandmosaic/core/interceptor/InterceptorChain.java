@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.interceptor;
+
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.api.executor.CommandExecutor;
+import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.api.interceptor.CommandInterceptor;
+import org.commandmosaic.core.executor.PreparableCommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Executes commands through a chain of {@link CommandInterceptor}s, finally
+ * passing the dispatch instruction to the {@link CommandExecutor} executing the command.
+ * </p>
+ *
+ * <p>
+ * The chain is compiled once per command class: only the interceptors
+ * {@linkplain CommandInterceptor#appliesTo(Class) applying to} the class are retained
+ * in an array, which is then traversed by index-based cursors passed to the interceptors
+ * as their {@code next} element. If no interceptor applies, commands of the class are passed
+ * to the {@code CommandExecutor} directly.
+ * </p>
+ */
+public class InterceptorChain implements PreparableCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(InterceptorChain.class);
+
+    private final CommandInterceptor[] interceptors;
+    private final CommandExecutor commandExecutor;
+
+    private final Map<Class<?>, CommandExecutor> compiledChains = new ConcurrentHashMap<>();
+
+    public InterceptorChain(List<CommandInterceptor> interceptors, CommandExecutor commandExecutor) {
+        Objects.requireNonNull(interceptors, "argument interceptors cannot be null");
+        Objects.requireNonNull(commandExecutor, "argument commandExecutor cannot be null");
+
+        this.interceptors = interceptors.toArray(new CommandInterceptor[0]);
+        this.commandExecutor = commandExecutor;
+    }
+
+    @Override
+    public void prepare(Class<? extends Command<?>> commandClass) {
+        prepareInterceptors(commandClass);
+
+        if (commandExecutor instanceof PreparableCommandExecutor) {
+            ((PreparableCommandExecutor) commandExecutor).prepare(commandClass);
+        }
+    }
+
+    /**
+     * Prepares the interception of the command class specified by the {@link PreparableCommandInterceptor}s
+     * of this chain and compiles the chain of the class, without preparing the {@code CommandExecutor}.
+     *
+     * @param commandClass the command class to prepare the interception of
+     *
+     * @throws RuntimeException if the command class is not configured properly for an interceptor
+     */
+    public void prepareInterceptors(Class<? extends Command<?>> commandClass) {
+        for (CommandInterceptor interceptor : interceptors) {
+            if (interceptor instanceof PreparableCommandInterceptor) {
+                ((PreparableCommandInterceptor) interceptor).prepare(commandClass);
+            }
+        }
+
+        getCompiledChain(commandClass);
+    }
+
+    @Override
+    public final <R, C extends Command<R>> R execute(
+            Class<C> commandClass, ParameterSource parameters, CommandContext context) {
+
+        return getCompiledChain(commandClass).execute(commandClass, parameters, context);
+    }
+
+    private CommandExecutor getCompiledChain(Class<?> commandClass) {
+        CommandExecutor compiledChain = compiledChains.get(commandClass);
+        if (compiledChain == null) {
+            compiledChain = compiledChains.computeIfAbsent(commandClass, this::compileChain);
+        }
+        return compiledChain;
+    }
+
+    private CommandExecutor compileChain(Class<?> clazz) {
+        @SuppressWarnings("unchecked") // only called with command classes
+        Class<? extends Command<?>> commandClass = (Class<? extends Command<?>>) clazz;
+
+        List<CommandInterceptor> applicableInterceptors = new ArrayList<>(interceptors.length);
+        for (CommandInterceptor interceptor : interceptors) {
+            if (interceptor.appliesTo(commandClass)) {
+                applicableInterceptors.add(interceptor);
+            } else {
+                log.debug("Interceptor {} is skipped for {}", interceptor, commandClass);
+            }
+        }
+
+        if (applicableInterceptors.isEmpty()) {
+            return commandExecutor;
+        }
+
+        return CompiledChain.compile(applicableInterceptors.toArray(new CommandInterceptor[0]), commandExecutor);
+    }
+
+    @Override
+    public String toString() {
+        return "InterceptorChain{" +
+                "interceptors=" + Arrays.toString(interceptors) +
+                ", commandExecutor=" + commandExecutor +
+                '}';
+    }
+
+    /**
+     * The interceptors applying to a command class, executed by positional cursors over their array:
+     * the cursor at each position is passed to the interceptor at the position as its {@code next}
+     * element, while the one after the last interceptor is the {@code CommandExecutor} itself.
+     * The cursors are immutable, so an interceptor might call its next element more than once.
+     */
+    private static final class CompiledChain implements CommandExecutor {
+
+        private final CommandInterceptor[] applicableInterceptors;
+        private final CommandExecutor[] cursors;
+        private final int position;
+
+        private CompiledChain(CommandInterceptor[] applicableInterceptors, CommandExecutor[] cursors, int position) {
+            this.applicableInterceptors = applicableInterceptors;
+            this.cursors = cursors;
+            this.position = position;
+        }
+
+        private static CommandExecutor compile(CommandInterceptor[] applicableInterceptors,
+                                               CommandExecutor commandExecutor) {
+            CommandExecutor[] cursors = new CommandExecutor[applicableInterceptors.length + 1];
+            for (int i = 0; i < applicableInterceptors.length; i++) {
+                cursors[i] = new CompiledChain(applicableInterceptors, cursors, i);
+            }
+            cursors[applicableInterceptors.length] = commandExecutor;
+
+            return cursors[0];
+        }
+
+        @Override
+        public <R, C extends Command<R>> R execute(
+                Class<C> commandClass, ParameterSource parameters, CommandContext context) {
+
+            return applicableInterceptors[position].intercept(commandClass, parameters, context,
+                    cursors[position + 1]);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.core.interceptor;
+
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.interceptor.CommandInterceptor;
+
+/**
+ * A {@link CommandInterceptor}, which is capable of resolving (and validating) the per-class
+ * metadata it requires to intercept a command upfront, when the dispatcher prepares its commands,
+ * instead of on the first dispatch of the command.
+ */
+public interface PreparableCommandInterceptor extends CommandInterceptor {
+
+    /**
+     * Prepares the interception of the command class specified.
+     *
+     * @param commandClass the command class to prepare the interception of
+     *
+     * @throws RuntimeException if the command class is not configured properly for this interceptor
+     */
+    void prepare(Class<? extends Command<?>> commandClass);
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.core.marshaller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.commandmosaic.core.server.model.Request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Base class of the Jackson based {@link Marshaller}s: implements argument validation,
+ * request reading, streaming of multiple values and exception translation, leaving
+ * how the streams are read and written to the subclasses.
+ */
+abstract class AbstractJacksonMarshaller implements Marshaller {
+
+    protected final ObjectMapper objectMapper;
+    protected final ObjectWriter objectWriter;
+
+    private final TypedRequestReader typedRequestReader;
+
+    protected AbstractJacksonMarshaller(ObjectMapper objectMapper, TypedRequestReader typedRequestReader) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "argument objectMapper cannot be null");
+        this.typedRequestReader = Objects.requireNonNull(typedRequestReader,
+                "argument typedRequestReader cannot be null");
+        this.objectWriter = objectMapper.writer();
+    }
+
+    /**
+     * Reads a value of the type specified from the stream, closing it once done.
+     */
+    protected abstract <T> T readValue(InputStream inputStream, Class<T> type) throws IOException;
+
+    /**
+     * Writes the value specified to the stream, closing it once done.
+     */
+    protected abstract void writeValue(OutputStream outputStream, Object value) throws IOException;
+
+    /**
+     * Creates a {@code JsonGenerator} writing to the stream specified, which closes the stream when closed.
+     */
+    protected abstract JsonGenerator createGenerator(OutputStream outputStream) throws IOException;
+
+    @Override
+    public final <T> T unmarshal(InputStream requestInputStream, Class<T> type) throws UnmarshalException {
+        Objects.requireNonNull(requestInputStream, "requestInputStream cannot be null");
+        Objects.requireNonNull(type, "type cannot be null");
+
+        try {
+            return readValue(requestInputStream, type);
+        }
+        catch (IOException e) {
+            throw new UnmarshalException("Failed to unmarshal " + type, e);
+        }
+    }
+
+    @Override
+    public final Request unmarshalRequest(InputStream requestInputStream,
+                                          ParameterTypeResolver parameterTypeResolver) throws UnmarshalException {
+        Objects.requireNonNull(requestInputStream, "requestInputStream cannot be null");
+        Objects.requireNonNull(parameterTypeResolver, "parameterTypeResolver cannot be null");
+
+        try {
+            return typedRequestReader.readRequest(requestInputStream, parameterTypeResolver);
+        }
+        catch (IOException e) {
+            throw new UnmarshalException("Failed to unmarshal " + Request.class, e);
+        }
+    }
+
+    @Override
+    public final void marshal(OutputStream responseOutputStream, Object value) throws MarshalException {
+        Objects.requireNonNull(responseOutputStream, "responseOutputStream cannot be null");
+        Objects.requireNonNull(value, "value cannot be null");
+
+        try {
+            writeValue(responseOutputStream, value);
+        }
+        catch (IOException e) {
+            throw new MarshalException("Failed to marshal: " + value, e);
+        }
+    }
+
+    @Override
+    public final void marshalAll(OutputStream responseOutputStream, Iterator<?> values) throws MarshalException {
+        Objects.requireNonNull(responseOutputStream, "responseOutputStream cannot be null");
+        Objects.requireNonNull(values, "values cannot be null");
+
+        try (JsonGenerator generator = createGenerator(responseOutputStream)) {
+
+            generator.writeStartArray();
+            while (values.hasNext()) {
+                // each value is written as soon as it is available
+                objectWriter.writeValue(generator, values.next());
+            }
+            generator.writeEndArray();
+        }
+        catch (IOException e) {
+            throw new MarshalException("Failed to marshal values", e);
+        }
+    }
+}
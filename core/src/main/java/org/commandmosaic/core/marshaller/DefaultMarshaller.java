@@ -17,45 +17,45 @@
 package org.commandmosaic.core.marshaller;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.Objects;
 
-final class DefaultMarshaller implements Marshaller {
+final class DefaultMarshaller extends AbstractJacksonMarshaller {
 
-    private static final ObjectMapper objectMapper;
+    private static final ObjectMapper OBJECT_MAPPER;
+    private static final TypedRequestReader TYPED_REQUEST_READER;
 
     static {
-        objectMapper = new ObjectMapper();
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        OBJECT_MAPPER = new ObjectMapper();
+        OBJECT_MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        TYPED_REQUEST_READER = new TypedRequestReader(OBJECT_MAPPER);
     }
 
-    @Override
-    public <T> T unmarshal(InputStream requestInputStream, Class<T> type) throws UnmarshalException {
-        Objects.requireNonNull(requestInputStream, "requestInputStream cannot be null");
-        Objects.requireNonNull(type, "type cannot be null");
+    DefaultMarshaller() {
+        super(OBJECT_MAPPER, TYPED_REQUEST_READER);
+    }
 
-        try (InputStreamReader inputStreamReader = new InputStreamReader(requestInputStream, StandardCharsets.UTF_8)) {
+    @Override
+    protected <T> T readValue(InputStream inputStream, Class<T> type) throws IOException {
+        try (InputStreamReader inputStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
             return objectMapper.readValue(inputStreamReader, type);
         }
-        catch (IOException e) {
-            throw new UnmarshalException("Failed to unmarshal " + type, e);
-        }
     }
 
     @Override
-    public void marshal(OutputStream responseOutputStream, Object value) throws MarshalException {
-        Objects.requireNonNull(responseOutputStream, "responseOutputStream cannot be null");
-        Objects.requireNonNull(responseOutputStream, "value cannot be null");
-
-        try (OutputStreamWriter writer = new OutputStreamWriter(responseOutputStream, StandardCharsets.UTF_8)) {
+    protected void writeValue(OutputStream outputStream, Object value) throws IOException {
+        try (OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
             String jsonString = objectMapper.writeValueAsString(value);
             writer.write(jsonString);
         }
-        catch (IOException e) {
-            throw new MarshalException("Failed to marshal: " + value, e);
-        }
+    }
+
+    @Override
+    protected JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        return objectMapper.getFactory().createGenerator(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
     }
 }
@@ -16,11 +16,50 @@
 
 package org.commandmosaic.core.marshaller;
 
+import org.commandmosaic.core.server.model.Request;
+
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 public interface Marshaller {
     <T> T unmarshal(InputStream requestInputStream, Class<T> object) throws UnmarshalException;
 
+    /**
+     * Unmarshals a {@link Request}. Implementations might use the {@link ParameterTypeResolver}
+     * to unmarshal the parameters directly into the types of the parameter fields of the command.
+     * The default implementation unmarshals the parameters as generic values.
+     *
+     * @param requestInputStream the stream to read the request from
+     * @param parameterTypeResolver resolves the parameter types of the requested command
+     *
+     * @return the request
+     *
+     * @throws UnmarshalException if the request cannot be unmarshalled
+     */
+    default Request unmarshalRequest(InputStream requestInputStream,
+                                     ParameterTypeResolver parameterTypeResolver) throws UnmarshalException {
+        return unmarshal(requestInputStream, Request.class);
+    }
+
     void marshal(OutputStream responseOutputStream, Object value) throws MarshalException;
+
+    /**
+     * Marshals the values returned by the {@code Iterator} as an array. Implementations might
+     * write each value as soon as it is returned by the {@code Iterator}, instead of collecting
+     * all of them first, which is what the default implementation does.
+     *
+     * @param responseOutputStream the stream to write the array to
+     * @param values the values to marshal; exceptions thrown by the iterator are propagated as-is
+     *
+     * @throws MarshalException if the values cannot be marshalled
+     */
+    default void marshalAll(OutputStream responseOutputStream, Iterator<?> values) throws MarshalException {
+        List<Object> valueList = new ArrayList<>();
+        values.forEachRemaining(valueList::add);
+
+        marshal(responseOutputStream, valueList);
+    }
 }
\ No newline at end of file
@@ -18,13 +18,26 @@ package org.commandmosaic.core.marshaller;
 
 import org.commandmosaic.core.factory.support.ServiceLoaderSupport;
 
+import java.util.function.Supplier;
+
 public abstract class MarshallerFactory {
 
     private static final ServiceLoaderSupport<MarshallerFactory> serviceLoaderSupport =
             new ServiceLoaderSupport<>(MarshallerFactory.class);
 
     public static MarshallerFactory getInstance() {
-        return serviceLoaderSupport.loadSingleServiceOrGetDefault(DefaultMarshallerFactory::new);
+        return getInstance(DefaultMarshallerFactory::new);
+    }
+
+    /**
+     * Returns the {@code MarshallerFactory} registered as service, or the one created by the
+     * supplier specified, if none is registered.
+     *
+     * @param defaultFactorySupplier creates the factory used if no service is registered
+     * @return the {@code MarshallerFactory} to use
+     */
+    public static MarshallerFactory getInstance(Supplier<? extends MarshallerFactory> defaultFactorySupplier) {
+        return serviceLoaderSupport.loadSingleServiceOrGetDefault(defaultFactorySupplier::get);
     }
 
     public abstract Marshaller getMarshaller();
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.marshaller;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Resolves the types the parameters of a command are injected as, so that
+ * a {@link Marshaller} can unmarshal the parameters of a request directly
+ * into these types.
+ */
+@FunctionalInterface
+public interface ParameterTypeResolver {
+
+    /**
+     * Returns the types of the parameters of the command specified, keyed by parameter name.
+     *
+     * @param commandName the name of the command
+     *
+     * @return the parameter types, or {@code null} if they are not known
+     * (e.g. there is no such command); parameters not contained in the map
+     * should be unmarshalled as generic values
+     */
+    Map<String, Type> getParameterTypes(String commandName);
+}
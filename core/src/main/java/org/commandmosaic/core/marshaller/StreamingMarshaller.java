@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.marshaller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * {@link Marshaller} implementation, which reads and writes UTF-8 bytes directly
+ * from / to the underlying streams: no intermediate {@code String}, {@code Reader}
+ * or {@code Writer} is involved. {@code ObjectReader}s and the {@code ObjectWriter}
+ * are built once and reused.
+ * </p>
+ *
+ * <p>
+ * As the response is written while it is being serialized, a serialization failure
+ * might leave a partial response in the output stream. This is not a concern for
+ * plain model objects, which is what commands are expected to return.
+ * </p>
+ *
+ * <p>
+ * To use it instead of the default implementation, register
+ * {@link StreamingMarshallerFactory} as {@code MarshallerFactory} service
+ * (in {@code META-INF/services/org.commandmosaic.core.marshaller.MarshallerFactory}).
+ * </p>
+ */
+public final class StreamingMarshaller extends AbstractJacksonMarshaller {
+
+    private final Map<Class<?>, ObjectReader> objectReaders = new ConcurrentHashMap<>();
+
+    public StreamingMarshaller() {
+        this(newObjectMapper());
+    }
+
+    private StreamingMarshaller(ObjectMapper objectMapper) {
+        super(objectMapper, new TypedRequestReader(objectMapper));
+    }
+
+    private static ObjectMapper newObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return objectMapper;
+    }
+
+    @Override
+    protected <T> T readValue(InputStream inputStream, Class<T> type) throws IOException {
+        ObjectReader objectReader = objectReaders.computeIfAbsent(type, objectMapper::readerFor);
+
+        // the parser auto-detects the encoding and closes the stream once done
+        return objectReader.readValue(inputStream);
+    }
+
+    @Override
+    protected void writeValue(OutputStream outputStream, Object value) throws IOException {
+        // the UTF-8 generator writes to the stream directly and closes it once done
+        objectWriter.writeValue(outputStream, value);
+    }
+
+    @Override
+    protected JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        return objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.marshaller;
+
+/**
+ * {@link MarshallerFactory} providing the {@link StreamingMarshaller}.
+ * Register it in {@code META-INF/services/org.commandmosaic.core.marshaller.MarshallerFactory}
+ * to use the streaming implementation.
+ */
+public final class StreamingMarshallerFactory extends MarshallerFactory {
+
+    private static final Marshaller MARSHALLER = new StreamingMarshaller();
+
+    @Override
+    public Marshaller getMarshaller() {
+        return MARSHALLER;
+    }
+}
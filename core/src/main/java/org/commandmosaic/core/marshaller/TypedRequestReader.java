@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.marshaller;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.InputCoercionException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.commandmosaic.api.conversion.TypeConversionException;
+import org.commandmosaic.core.parameter.FailedConversion;
+import org.commandmosaic.core.server.ProtocolConstants;
+import org.commandmosaic.core.server.model.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Reads a {@link Request} in a single pass over the JSON input. If the {@code command}
+ * field precedes the {@code parameters} field (which is the case for all requests
+ * produced by the client libraries), the parameters are deserialized directly into
+ * the types of the corresponding {@code @Parameter} fields of the command, instead
+ * of into a generic tree of {@code Map}s and {@code List}s, which would have to be
+ * converted again before injection. If the {@code parameters} field precedes the
+ * {@code command} field, the command is not known yet when the parameters are read:
+ * they are read as generic values then, and converted by the {@code TypeConversionService}
+ * during injection.
+ * </p>
+ *
+ * <p>
+ * The entries of a batch request (the {@code requests} field) are read the same way.
+ * </p>
+ *
+ * <p>
+ * A parameter value that cannot be deserialized into the field type (including a number
+ * out of the range of the type) is skipped and replaced by a {@link FailedConversion}: the
+ * injection of the parameter fails with a {@code TypeConversionException}, like a failed
+ * conversion of a generic value.
+ * </p>
+ */
+final class TypedRequestReader {
+
+    private static final Logger log = LoggerFactory.getLogger(TypedRequestReader.class);
+
+    private final ObjectMapper objectMapper;
+    private final JavaType mapType;
+    private final JavaType requestListType;
+    private final ObjectReader genericValueReader;
+    private final ObjectReader stringValueReader;
+
+    private final Map<Type, ObjectReader> parameterReaders = new ConcurrentHashMap<>();
+
+    TypedRequestReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.mapType = objectMapper.getTypeFactory().constructMapType(LinkedHashMap.class, String.class, Object.class);
+        this.requestListType = objectMapper.getTypeFactory().constructCollectionType(List.class, Request.class);
+        this.genericValueReader = objectMapper.readerFor(Object.class);
+        this.stringValueReader = objectMapper.readerFor(String.class);
+    }
+
+    Request readRequest(InputStream inputStream, ParameterTypeResolver parameterTypeResolver) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                // let the generic deserializer handle (and report) anything that is not an object
+                return objectMapper.readValue(parser, Request.class);
+            }
+
+            return readRequestFields(parser, parameterTypeResolver);
+        }
+    }
+
+    private Request readRequestFields(JsonParser parser, ParameterTypeResolver parameterTypeResolver)
+            throws IOException {
+
+        Request request = new Request();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (fieldName) {
+                case "id":
+                    request.setId(genericValueReader.readValue(parser));
+                    break;
+                case "protocol":
+                    request.setProtocol(stringValueReader.readValue(parser));
+                    break;
+                case "command":
+                    request.setCommand(stringValueReader.readValue(parser));
+                    break;
+                case "auth":
+                    request.setAuth(objectMapper.readValue(parser, mapType));
+                    break;
+                case "parameters":
+                    request.setParameters(readParameters(parser, request, parameterTypeResolver));
+                    break;
+                case "requests":
+                    request.setRequests(readRequests(parser, parameterTypeResolver));
+                    break;
+                default:
+                    handleUnknownField(parser, fieldName);
+            }
+        }
+
+        return request;
+    }
+
+    private List<Request> readRequests(JsonParser parser, ParameterTypeResolver parameterTypeResolver)
+            throws IOException {
+
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            // let the generic deserializer handle (and report) anything that is not an array
+            return objectMapper.readValue(parser, requestListType);
+        }
+
+        List<Request> requests = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                requests.add(readRequestFields(parser, parameterTypeResolver));
+            } else {
+                requests.add(objectMapper.readValue(parser, Request.class));
+            }
+        }
+        return requests;
+    }
+
+    private Map<String, Object> readParameters(JsonParser parser, Request request,
+                                               ParameterTypeResolver parameterTypeResolver) throws IOException {
+
+        Map<String, Type> parameterTypes = null;
+        if (parser.currentToken() == JsonToken.START_OBJECT
+                && request.getCommand() != null
+                && (request.getProtocol() == null || ProtocolConstants.PROTOCOL_VERSION.equals(request.getProtocol()))) {
+            parameterTypes = parameterTypeResolver.getParameterTypes(request.getCommand());
+        }
+
+        if (parameterTypes == null) {
+            return objectMapper.readValue(parser, mapType);
+        }
+
+        JsonStreamContext parametersContext = parser.getParsingContext();
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String parameterName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+
+            Type parameterType = parameterTypes.get(parameterName);
+            Object value;
+            if (parameterType == null || valueToken == JsonToken.VALUE_NULL) {
+                value = genericValueReader.readValue(parser);
+            } else {
+                value = readTypedParameter(parser, parametersContext, parameterName, parameterType);
+            }
+
+            parameters.put(parameterName, value);
+        }
+
+        return parameters;
+    }
+
+    private Object readTypedParameter(JsonParser parser, JsonStreamContext parametersContext,
+                                      String parameterName, Type parameterType) throws IOException {
+        try {
+            return getParameterReader(parameterType).readValue(parser);
+        } catch (JsonMappingException | InputCoercionException e) {
+            // e.g. a value of another type, or a number out of the range of the type
+            log.debug("Parameter '{}' does not match type {}: {}", parameterName, parameterType, e.getMessage());
+
+            skipRemainingValue(parser, parametersContext);
+
+            return new FailedConversion(new TypeConversionException(
+                    "Parameter '" + parameterName + "' cannot be converted to " + parameterType, e));
+        }
+    }
+
+    /**
+     * Skips the rest of a value, which was read partially: the parser is advanced until it
+     * returns to the {@code parameters} object, the current token being the end of the value.
+     */
+    private static void skipRemainingValue(JsonParser parser, JsonStreamContext parametersContext)
+            throws IOException {
+
+        while (parser.getParsingContext() != parametersContext) {
+            if (parser.nextToken() == null) {
+                throw new JsonParseException(parser, "Unexpected end of input in parameter value");
+            }
+        }
+    }
+
+    private ObjectReader getParameterReader(Type parameterType) {
+        return parameterReaders.computeIfAbsent(parameterType,
+                type -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type)));
+    }
+
+    private void handleUnknownField(JsonParser parser, String fieldName) throws IOException {
+        if (objectMapper.getDeserializationConfig().isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)) {
+            throw UnrecognizedPropertyException.from(parser, Request.class, fieldName, null);
+        }
+        parser.skipChildren();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.parameter;
+
+import org.commandmosaic.api.conversion.TypeConversionException;
+
+import java.util.Objects;
+
+/**
+ * Stands in for a parameter value, which could not be converted to the type of its
+ * {@code @Parameter} field while the request was read. {@link ParameterInjector} reports
+ * the failure when the parameter is injected, like a failed conversion of the
+ * {@code TypeConversionService}.
+ */
+public final class FailedConversion {
+
+    private final TypeConversionException exception;
+
+    public FailedConversion(TypeConversionException exception) {
+        this.exception = Objects.requireNonNull(exception, "argument exception cannot be null");
+    }
+
+    public TypeConversionException getException() {
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return "FailedConversion{" +
+                "exception=" + exception +
+                '}';
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.core.parameter;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Assigns the {@code @Parameter} fields of a command class directly,
+ * without using reflection.
+ * </p>
+ *
+ * <p>
+ * Implementations are generated at build time by {@code commandmosaic-processor}
+ * as {@code <CommandClass>_ParameterBinder}; {@link ParameterInjector} uses them
+ * when available and falls back to reflective field access otherwise.
+ * </p>
+ *
+ * @param <C> the type of the command class
+ */
+public interface ParameterBinder<C> {
+
+    /**
+     * Returns the command class this binder assigns the parameters of.
+     *
+     * @return the command class
+     */
+    Class<C> getCommandClass();
+
+    /**
+     * Returns the names of the parameter fields this binder can assign, in the form of
+     * {@code <binary name of the declaring class>#<field name>}. The position of a field
+     * in the list is the index to pass to {@link #bind(Object, int, Object)}.
+     *
+     * @return the list of the parameter field names
+     */
+    List<String> getParameterNames();
+
+    /**
+     * Assigns the value to the parameter field identified by the index.
+     *
+     * @param target the command object to assign the parameter of
+     * @param index the index of the parameter field in {@link #getParameterNames()}
+     * @param value the value to assign; must be assignable to the type of the field
+     */
+    void bind(C target, int index, Object value);
+}
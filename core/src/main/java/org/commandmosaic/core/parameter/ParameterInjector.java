@@ -21,13 +21,16 @@ import org.commandmosaic.api.MissingParameterException;
 import org.commandmosaic.api.Parameter;
 import org.commandmosaic.api.ParameterInjectionException;
 import org.commandmosaic.api.conversion.TypeConversionService;
+import org.commandmosaic.api.conversion.TypeConverter;
 import org.commandmosaic.api.executor.ParameterSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -51,6 +54,11 @@ public class ParameterInjector {
         List<ParameterInjectionMetadata.ParameterInjectedElement> elements = new ArrayList<>();
         Class<?> targetClass = clazz;
 
+        ParameterBinder<?> parameterBinder = reflectionOperations.findParameterBinder(clazz);
+        if (parameterBinder != null) {
+            log.debug("Using generated parameter binder for {}", clazz);
+        }
+
         do {
             final List<ParameterInjectionMetadata.ParameterInjectedElement> currElements = new ArrayList<>();
 
@@ -63,7 +71,7 @@ public class ParameterInjector {
                     }
 
                     boolean required = parameterAnnotation.required();
-                    currElements.add(new ParameterFieldElement(field, required));
+                    currElements.add(createParameterFieldElement(field, required, parameterBinder));
 
                     log.debug("Discovered parameter field (required={}): {}", required, field);
                 }
@@ -78,6 +86,20 @@ public class ParameterInjector {
     }
 
 
+    private static ParameterFieldElement createParameterFieldElement(
+            Field field, boolean required, ParameterBinder<?> parameterBinder) {
+
+        if (parameterBinder != null) {
+            String parameterName = field.getDeclaringClass().getName() + "#" + field.getName();
+            int index = parameterBinder.getParameterNames().indexOf(parameterName);
+            if (index >= 0) {
+                return new ParameterBinderElement(field, required, parameterBinder, index);
+            }
+        }
+
+        return new ParameterFieldElement(field, required);
+    }
+
     public void processInjection(Object commandObject, ParameterSource parameterSource)
             throws ParameterInjectionException {
 
@@ -100,6 +122,16 @@ public class ParameterInjector {
         }
     }
 
+    /**
+     * Builds the injection metadata of the class specified upfront,
+     * instead of on the first injection.
+     *
+     * @param clazz the class to build the injection metadata of
+     */
+    public void prepare(Class<?> clazz) {
+        findParameterMetadata(clazz);
+    }
+
     private ParameterInjectionMetadata findParameterMetadata(Class<?> clazz) {
         log.debug("Loading parameter injection metadata for {}", clazz);
         return this.injectionMetadataCache.computeIfAbsent(clazz, this::buildParameterMetadata);
@@ -165,11 +197,24 @@ public class ParameterInjector {
 
     private static class ParameterFieldElement extends ParameterInjectionMetadata.ParameterInjectedElement {
 
-        private final Class<?> fieldType;
+        // the generic type (e.g. List<Long>), so that type arguments are honoured during conversion
+        private final Type fieldType;
+        private final MethodHandle setter;
+
+        // the converter of the source type seen most recently: a field typically receives values of one type
+        private volatile SourceTypeConverter sourceTypeConverter;
 
         public ParameterFieldElement(Field field, boolean required) {
+            this(field, required, ReflectionOperations.unreflectSetter(field));
+        }
+
+        protected ParameterFieldElement(Field field, boolean required, MethodHandle setter) {
             super(field, required);
-            fieldType = field.getType();
+            fieldType = field.getGenericType();
+            this.setter = setter;
+
+            // parameter sources might read the field reflectively (e.g. from a prototype)
+            ReflectionOperations.makeAccessible(field);
         }
 
         @Override
@@ -179,14 +224,14 @@ public class ParameterInjector {
 
             Field field = (Field) this.member;
 
-            ReflectionOperations.makeAccessible(field);
             Object value = parameterSource.get(field);
-            if (value != null) {
-                Object convertedValue = typeConversionService.convert(value, fieldType);
+            if (value instanceof FailedConversion) {
+                throw ((FailedConversion) value).getException();
+            } else if (value != null) {
+                Object convertedValue = getConverter(value.getClass(), typeConversionService).convert(value);
                 log.trace("Injecting value {} to {}", convertedValue, field);
 
-                ReflectionOperations.makeAccessible(field);
-                field.set(target, convertedValue);
+                setValue(target, convertedValue);
             } else {
                 if (required) {
                     throw new MissingParameterException("Required parameter is missing: " + field.getName());
@@ -195,6 +240,52 @@ public class ParameterInjector {
                 }
             }
         }
+
+        protected void setValue(Object target, Object value) throws Throwable {
+            setter.invokeExact(target, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private TypeConverter<Object, Object> getConverter(Class<?> sourceType,
+                                                           TypeConversionService typeConversionService) {
+            SourceTypeConverter cachedConverter = this.sourceTypeConverter;
+            if (cachedConverter == null || cachedConverter.sourceType != sourceType) {
+                TypeConverter<?, ?> converter = typeConversionService.getConverter(sourceType, fieldType);
+                cachedConverter = new SourceTypeConverter(sourceType, (TypeConverter<Object, Object>) converter);
+
+                this.sourceTypeConverter = cachedConverter;
+            }
+            return cachedConverter.converter;
+        }
+    }
+
+    private static final class SourceTypeConverter {
+
+        private final Class<?> sourceType;
+        private final TypeConverter<Object, Object> converter;
+
+        private SourceTypeConverter(Class<?> sourceType, TypeConverter<Object, Object> converter) {
+            this.sourceType = sourceType;
+            this.converter = converter;
+        }
+    }
+
+    private static final class ParameterBinderElement extends ParameterFieldElement {
+
+        private final ParameterBinder<Object> parameterBinder;
+        private final int index;
+
+        @SuppressWarnings("unchecked") // the binder is generated for the class of the target
+        ParameterBinderElement(Field field, boolean required, ParameterBinder<?> parameterBinder, int index) {
+            super(field, required, null);
+            this.parameterBinder = (ParameterBinder<Object>) parameterBinder;
+            this.index = index;
+        }
+
+        @Override
+        protected void setValue(Object target, Object value) {
+            parameterBinder.bind(target, index, value);
+        }
     }
 
 }
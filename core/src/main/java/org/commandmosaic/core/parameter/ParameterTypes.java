@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.parameter;
+
+import org.commandmosaic.api.Parameter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility class to discover the types of the {@code @Parameter} fields of a class.
+ */
+public final class ParameterTypes {
+
+    private ParameterTypes() {
+
+    }
+
+    /**
+     * Returns the (generic) types of the {@code @Parameter} fields of the class specified
+     * (including the ones declared in superclasses), keyed by parameter name. If the class
+     * hierarchy declares multiple parameter fields of the same name, but with different types,
+     * the parameter is omitted, as there is no single type it could be converted to.
+     *
+     * @param clazz the class to return the parameter types of
+     *
+     * @return a map of the parameter types (never {@code null})
+     */
+    public static Map<String, Type> getParameterTypes(Class<?> clazz) {
+        Map<String, Type> parameterTypes = new HashMap<>();
+        Set<String> ambiguousNames = new HashSet<>();
+
+        for (Class<?> currentClass = clazz;
+             currentClass != null && currentClass != Object.class;
+             currentClass = currentClass.getSuperclass()) {
+
+            for (Field field : currentClass.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Parameter.class) && !Modifier.isStatic(field.getModifiers())) {
+                    Type previousType = parameterTypes.putIfAbsent(field.getName(), field.getGenericType());
+                    if (previousType != null && !previousType.equals(field.getGenericType())) {
+                        ambiguousNames.add(field.getName());
+                    }
+                }
+            }
+        }
+
+        parameterTypes.keySet().removeAll(ambiguousNames);
+
+        return parameterTypes;
+    }
+}
@@ -20,7 +20,12 @@ package org.commandmosaic.core.parameter;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.security.AccessController;
@@ -39,8 +44,24 @@ import java.util.concurrent.ExecutionException;
  */
 class ReflectionOperations {
 
+    private static final Logger log = LoggerFactory.getLogger(ReflectionOperations.class);
+
     private static final Field[] EMPTY_FIELD_ARRAY = new Field[0];
 
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual(Field.class, "set", SETTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // NOTE: must be kept in sync with org.commandmosaic.processor.CommandProcessor
+    private static final String PARAMETER_BINDER_SUFFIX = "_ParameterBinder";
+
     private final LoadingCache<Class<?>, Field[]> declaredFieldsCache = CacheBuilder.newBuilder()
             .weakKeys().softValues().build(new CacheLoader<Class<?>, Field[]>() {
                 @Override
@@ -89,6 +110,62 @@ class ReflectionOperations {
         }
     }
 
+    /**
+     * Returns the {@link ParameterBinder} generated for the class specified at build time.
+     *
+     * @param clazz the class to return the {@code ParameterBinder} for
+     *
+     * @return the {@code ParameterBinder} or {@code null}, if no binder was generated for the class
+     */
+    ParameterBinder<?> findParameterBinder(Class<?> clazz) {
+        String binderClassName = clazz.getName() + PARAMETER_BINDER_SUFFIX;
+        try {
+            Class<?> binderClass = Class.forName(binderClassName, true, clazz.getClassLoader());
+            if (!ParameterBinder.class.isAssignableFrom(binderClass)) {
+                log.warn("Ignoring {}, as it does not implement {}", binderClass, ParameterBinder.class);
+                return null;
+            }
+
+            ParameterBinder<?> parameterBinder =
+                    (ParameterBinder<?>) binderClass.getDeclaredConstructor().newInstance();
+            if (parameterBinder.getCommandClass() != clazz) {
+                log.warn("Ignoring {}, as it is not bound to {}", binderClass, clazz);
+                return null;
+            }
+
+            return parameterBinder;
+
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Failed to load parameter binder {}, falling back to reflection", binderClassName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns a setter {@code MethodHandle} of type {@code (Object, Object)void} for the field specified.
+     * The field is made accessible, if required.
+     *
+     * @param field the field to return the setter of
+     *
+     * @return the setter {@code MethodHandle} (never {@code null})
+     */
+    static MethodHandle unreflectSetter(Field field) {
+        makeAccessible(field);
+
+        MethodHandle setter;
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            // e.g. final fields: fall back to Field#set, which is permitted to modify them
+            log.debug("Falling back to reflective access for {}: {}", field, e.getMessage());
+            setter = FIELD_SET.bindTo(field);
+        }
+
+        return setter.asType(SETTER_TYPE);
+    }
+
     static void makeAccessible(Field field) {
         if ((!Modifier.isPublic(field.getModifiers()) ||
                 !Modifier.isPublic(field.getDeclaringClass().getModifiers()) ||
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.core.registry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Loads the command index generated at build time by {@code commandmosaic-processor}.
+ */
+final class CommandIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CommandIndex.class);
+
+    // NOTE: must be kept in sync with org.commandmosaic.processor.CommandProcessor
+    static final String COMMAND_INDEX_LOCATION = "META-INF/commandmosaic/commands";
+
+    private CommandIndex() {
+
+    }
+
+    /**
+     * Returns the binary names of the indexed command classes inside
+     * the package specified (including nested packages).
+     *
+     * @param classLoader the {@code ClassLoader} to load the indexes from
+     * @param packageName the name of the package to return the commands of
+     *
+     * @return the set of command class names; empty if no index was found
+     *
+     * @throws IOException if reading an index fails
+     */
+    static Set<String> loadCommandClassNames(ClassLoader classLoader, String packageName) throws IOException {
+        String packagePrefix = packageName + ".";
+
+        Set<String> commandClassNames = new TreeSet<>();
+
+        Enumeration<URL> indexes = classLoader.getResources(COMMAND_INDEX_LOCATION);
+        while (indexes.hasMoreElements()) {
+            URL index = indexes.nextElement();
+            log.trace("Reading command index {}", index);
+
+            URLConnection urlConnection = index.openConnection();
+            urlConnection.setUseCaches(false);
+
+            try (InputStream inputStream = urlConnection.getInputStream();
+                 BufferedReader reader = new BufferedReader(
+                         new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String className = line.trim();
+                    if (className.startsWith(packagePrefix)) {
+                        commandClassNames.add(className);
+                    }
+                }
+            }
+        }
+
+        return commandClassNames;
+    }
+}
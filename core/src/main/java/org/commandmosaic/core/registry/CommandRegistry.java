@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.core.registry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.server.NoSuchCommandException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * Holds the {@link Command} classes available under a root package, keyed by
+ * their command name (the class name relative to the root package).
+ * </p>
+ *
+ * <p>
+ * If the command index generated by {@code commandmosaic-processor} is available,
+ * the registry is populated from it. Otherwise, the root package is scanned
+ * once, when the registry is constructed. In both cases, resolving
+ * a command name afterwards is a single hash lookup, which does not touch the
+ * {@code ClassLoader} at all: names not found upfront are rejected.
+ * </p>
+ *
+ * <p>
+ * If the scan could not inspect every location the root package is found at
+ * (e.g. a {@code ClassLoader} using an unsupported URL scheme), or the index is
+ * declared partial by setting the system property {@value #PARTIAL_COMMAND_INDEX_PROPERTY}
+ * to {@code true} (e.g. as some modules contributing commands are not processed),
+ * names not found upfront are resolved through the {@code ClassLoader}; unknown names
+ * are then remembered in a bounded negative cache.
+ * </p>
+ *
+ * <p>
+ * {@code CommandRegistry} instances are Thread-safe.
+ * </p>
+ */
+public final class CommandRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(CommandRegistry.class);
+
+    /**
+     * System property, which declares the command index partial if set to {@code true}:
+     * command names missing from the index are then resolved through the {@code ClassLoader}.
+     */
+    public static final String PARTIAL_COMMAND_INDEX_PROPERTY = "commandmosaic.commandIndex.partial";
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private static final int UNKNOWN_COMMAND_NAMES_CACHE_SIZE = 1024;
+
+    private final String rootPackageName;
+    private final ClassLoader classLoader;
+
+    private final Map<String, Class<? extends Command<?>>> commandClasses;
+    private final boolean complete;
+
+    private final Map<String, Class<? extends Command<?>>> lateResolvedCommandClasses = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> unknownCommandNames = CacheBuilder.newBuilder()
+            .maximumSize(UNKNOWN_COMMAND_NAMES_CACHE_SIZE).build();
+
+    public CommandRegistry(String rootPackageName) {
+        this(rootPackageName, CommandRegistry.class.getClassLoader());
+    }
+
+    public CommandRegistry(String rootPackageName, ClassLoader classLoader) {
+        this.rootPackageName = Objects.requireNonNull(rootPackageName, "argument rootPackageName cannot be null");
+        this.classLoader = Objects.requireNonNull(classLoader, "argument classLoader cannot be null");
+
+        Map<String, Class<? extends Command<?>>> discoveredCommands = new TreeMap<>();
+
+        boolean scanComplete;
+        if (loadCommandIndex(discoveredCommands)) {
+            // the index lists every command of the modules processed
+            scanComplete = !Boolean.getBoolean(PARTIAL_COMMAND_INDEX_PROPERTY);
+        } else {
+            log.debug("Scanning package {} for commands", rootPackageName);
+            scanComplete = scanRootPackage(discoveredCommands);
+        }
+
+        this.commandClasses = ImmutableMap.copyOf(discoveredCommands);
+
+        // an empty scan result most likely means the classes are packaged without
+        // directory entries: we do not trust such a result, so as not to reject valid commands
+        this.complete = scanComplete && !commandClasses.isEmpty();
+
+        log.info("Discovered {} command(s) in package {}; complete: {}",
+                commandClasses.size(), rootPackageName, complete);
+    }
+
+    /**
+     * Returns the command class registered for the command name specified.
+     *
+     * @param commandName the name of the command, relative to the root package; nested
+     *                    packages might be separated either by {@code .} or {@code /}
+     *
+     * @return the command class (never {@code null})
+     *
+     * @throws NoSuchCommandException if the name does not identify a command in the root package
+     */
+    public Class<? extends Command<?>> getCommandClass(String commandName) throws NoSuchCommandException {
+        Objects.requireNonNull(commandName, "argument commandName cannot be null");
+
+        String relativeClassName = commandName.replace('/', '.');
+
+        Class<? extends Command<?>> commandClass = commandClasses.get(relativeClassName);
+        if (commandClass == null) {
+            if (complete) {
+                throw new NoSuchCommandException("No such command: " + commandName);
+            }
+
+            commandClass = resolveUnscannedCommandClass(commandName, relativeClassName);
+        }
+
+        return commandClass;
+    }
+
+    /**
+     * Returns the command classes discovered in the root package.
+     *
+     * @return an immutable collection of command classes
+     */
+    public Collection<Class<? extends Command<?>>> getCommandClasses() {
+        return commandClasses.values();
+    }
+
+    public String getRootPackageName() {
+        return rootPackageName;
+    }
+
+    private Class<? extends Command<?>> resolveUnscannedCommandClass(String commandName, String relativeClassName) {
+        Class<? extends Command<?>> commandClass = lateResolvedCommandClasses.get(relativeClassName);
+        if (commandClass == null) {
+            if (unknownCommandNames.getIfPresent(relativeClassName) != null) {
+                throw new NoSuchCommandException("No such command: " + commandName);
+            }
+
+            String className = rootPackageName + "." + relativeClassName;
+            log.debug("Resolved command '{}' to class name '{}'", commandName, className);
+
+            try {
+                commandClass = asCommandClass(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.trace("Failed to load class {}", className, e);
+                commandClass = null;
+            }
+
+            if (commandClass == null) {
+                unknownCommandNames.put(relativeClassName, Boolean.TRUE);
+                throw new NoSuchCommandException("No such command: " + commandName);
+            }
+
+            lateResolvedCommandClasses.putIfAbsent(relativeClassName, commandClass);
+        }
+
+        return commandClass;
+    }
+
+    private boolean loadCommandIndex(Map<String, Class<? extends Command<?>>> discoveredCommands) {
+        Set<String> indexedClassNames;
+        try {
+            indexedClassNames = CommandIndex.loadCommandClassNames(classLoader, rootPackageName);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load command index, falling back to scanning package {}", rootPackageName, e);
+            return false;
+        }
+
+        for (String className : indexedClassNames) {
+            registerClass(className.substring(rootPackageName.length() + 1), discoveredCommands);
+        }
+
+        if (!indexedClassNames.isEmpty()) {
+            log.debug("Loaded {} command(s) of package {} from command index",
+                    discoveredCommands.size(), rootPackageName);
+        }
+
+        return !discoveredCommands.isEmpty();
+    }
+
+    private boolean scanRootPackage(Map<String, Class<? extends Command<?>>> discoveredCommands) {
+        String packagePath = rootPackageName.replace('.', '/');
+
+        boolean scanComplete = true;
+        try {
+            Enumeration<URL> resources = classLoader.getResources(packagePath);
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                log.trace("Scanning location {}", url);
+
+                if ("file".equals(url.getProtocol())) {
+                    scanDirectory(Paths.get(url.toURI()), discoveredCommands);
+                } else if ("jar".equals(url.getProtocol())) {
+                    scanJar(url, packagePath, discoveredCommands);
+                } else {
+                    log.info("Cannot scan location {}: unsupported URL scheme", url);
+                    scanComplete = false;
+                }
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            log.warn("Failed to scan package {} for commands", rootPackageName, e);
+            scanComplete = false;
+        }
+
+        return scanComplete;
+    }
+
+    private void scanDirectory(Path packageDirectory, Map<String, Class<? extends Command<?>>> discoveredCommands)
+            throws IOException {
+
+        try (Stream<Path> paths = Files.walk(packageDirectory)) {
+            paths.filter(path -> path.toString().endsWith(CLASS_FILE_SUFFIX))
+                    .forEach(path -> {
+                        StringBuilder relativeClassName = new StringBuilder();
+                        for (Path element : packageDirectory.relativize(path)) {
+                            if (relativeClassName.length() > 0) {
+                                relativeClassName.append('.');
+                            }
+                            relativeClassName.append(element);
+                        }
+
+                        registerClass(stripClassFileSuffix(relativeClassName.toString()), discoveredCommands);
+                    });
+        }
+    }
+
+    private void scanJar(URL url, String packagePath, Map<String, Class<? extends Command<?>>> discoveredCommands)
+            throws IOException, URISyntaxException {
+
+        JarURLConnection jarURLConnection = (JarURLConnection) url.openConnection();
+        URL jarFileURL = jarURLConnection.getJarFileURL();
+
+        if ("file".equals(jarFileURL.getProtocol())) {
+            // opened independently: closing the JarFile of the connection could close a cached, shared instance
+            try (JarFile jarFile = new JarFile(new File(jarFileURL.toURI()))) {
+                scanJarEntries(jarFile, packagePath, discoveredCommands);
+            }
+        } else {
+            // e.g. a jar nested into another one: the JarFile is owned (and cached) by the URL handler
+            scanJarEntries(jarURLConnection.getJarFile(), packagePath, discoveredCommands);
+        }
+    }
+
+    private void scanJarEntries(JarFile jarFile, String packagePath,
+                                Map<String, Class<? extends Command<?>>> discoveredCommands) {
+
+        String entryPrefix = packagePath + "/";
+
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            String entryName = entries.nextElement().getName();
+            if (entryName.startsWith(entryPrefix) && entryName.endsWith(CLASS_FILE_SUFFIX)) {
+                String relativePath = entryName.substring(entryPrefix.length());
+                registerClass(stripClassFileSuffix(relativePath).replace('/', '.'), discoveredCommands);
+            }
+        }
+    }
+
+    private void registerClass(String relativeClassName,
+                               Map<String, Class<? extends Command<?>>> discoveredCommands) {
+
+        if (relativeClassName.endsWith("package-info") || relativeClassName.endsWith("module-info")) {
+            return;
+        }
+
+        String className = rootPackageName + "." + relativeClassName;
+        try {
+            Class<? extends Command<?>> commandClass = asCommandClass(Class.forName(className, false, classLoader));
+            if (commandClass != null) {
+                log.debug("Discovered command '{}': {}", relativeClassName, commandClass);
+                discoveredCommands.put(relativeClassName, commandClass);
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.debug("Skipping class {}, as it cannot be loaded", className, e);
+        }
+    }
+
+    private static Class<? extends Command<?>> asCommandClass(Class<?> loadedClass) {
+        if (!Command.class.isAssignableFrom(loadedClass)
+                || loadedClass.isInterface()
+                || Modifier.isAbstract(loadedClass.getModifiers())) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked") // previous if statement guards type cast
+        Class<? extends Command<?>> commandClass = (Class<? extends Command<?>>) loadedClass;
+        return commandClass;
+    }
+
+    private static String stripClassFileSuffix(String fileName) {
+        return fileName.substring(0, fileName.length() - CLASS_FILE_SUFFIX.length());
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(getClass().getSimpleName())
+                .append("{rootPackageName='").append(rootPackageName).append('\'')
+                .append(", commands=").append(commandClasses.keySet())
+                .append(", complete=").append(complete)
+                .append('}').toString();
+    }
+}
@@ -20,10 +20,13 @@ package org.commandmosaic.core.server;
 import org.commandmosaic.api.CommandContext;
 import org.commandmosaic.api.CommandDispatcher;
 import org.commandmosaic.api.server.*;
+import org.commandmosaic.core.DefaultCommandDispatcher;
 import org.commandmosaic.core.marshaller.MarshalException;
 import org.commandmosaic.core.marshaller.Marshaller;
 import org.commandmosaic.core.marshaller.MarshallerFactory;
+import org.commandmosaic.core.marshaller.ParameterTypeResolver;
 import org.commandmosaic.core.marshaller.UnmarshalException;
+import org.commandmosaic.core.server.context.AuthenticationScope;
 import org.commandmosaic.core.server.context.DefaultCommandContext;
 import org.commandmosaic.core.server.model.*;
 import org.slf4j.Logger;
@@ -31,9 +34,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 public class DefaultCommandDispatcherServer implements CommandDispatcherServer {
 
@@ -43,17 +50,33 @@ public class DefaultCommandDispatcherServer implements CommandDispatcherServer {
 
     private final CommandDispatcher commandDispatcher;
     private final Marshaller marshaller;
+    private final ParameterTypeResolver parameterTypeResolver;
 
     public DefaultCommandDispatcherServer(CommandDispatcher commandDispatcher) {
         this(commandDispatcher, MarshallerFactory.getInstance().getMarshaller());
     }
 
-    protected DefaultCommandDispatcherServer(CommandDispatcher commandDispatcher, Marshaller marshaller) {
+    public DefaultCommandDispatcherServer(CommandDispatcher commandDispatcher, Marshaller marshaller) {
         Objects.requireNonNull(commandDispatcher, "commandDispatcher cannot be null");
         Objects.requireNonNull(marshaller, "marshaller cannot be null");
 
         this.commandDispatcher = commandDispatcher;
         this.marshaller = marshaller;
+
+        if (commandDispatcher instanceof DefaultCommandDispatcher) {
+            this.parameterTypeResolver = ((DefaultCommandDispatcher) commandDispatcher)::getParameterTypes;
+        } else {
+            // parameter types are unknown: parameters are unmarshalled as generic values
+            this.parameterTypeResolver = commandName -> null;
+        }
+    }
+
+    public CommandDispatcher getCommandDispatcher() {
+        return commandDispatcher;
+    }
+
+    public Marshaller getMarshaller() {
+        return marshaller;
     }
 
 
@@ -61,6 +84,28 @@ public class DefaultCommandDispatcherServer implements CommandDispatcherServer {
     public void serviceRequest(DispatchRequest dispatchRequest,
                                DispatchResponse dispatchResponse,
                                DispatchContext dispatchContext) throws IOException {
+        try {
+            serviceRequestAsync(dispatchRequest, dispatchResponse, dispatchContext).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> serviceRequestAsync(DispatchRequest dispatchRequest,
+                                                     DispatchResponse dispatchResponse,
+                                                     DispatchContext dispatchContext) {
+
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+
         Object requestId = null;
         try {
             Request request = unmarshalRequest(dispatchRequest.getInputStream());
@@ -68,6 +113,12 @@ public class DefaultCommandDispatcherServer implements CommandDispatcherServer {
 
             requestId = request.getId();
 
+            if (ProtocolConstants.BATCH_PROTOCOL_VERSION.equals(request.getProtocol())) {
+                serviceBatchRequest(request, dispatchResponse);
+                completion.complete(null);
+                return completion;
+            }
+
             checkRequestProtocol(request);
 
             String commandName = getCommandName(request);
@@ -80,26 +131,148 @@ public class DefaultCommandDispatcherServer implements CommandDispatcherServer {
 
             CommandContext commandContext = new DefaultCommandContext(auth);
 
-            Object result = commandDispatcher.dispatchCommand(commandName, parameters, commandContext);
+            final Object id = requestId;
+            commandDispatcher.dispatchCommandAsync(commandName, parameters, commandContext)
+                    .whenComplete((result, failure) ->
+                            completeRequest(id, result, failure, dispatchResponse, dispatchContext, completion));
 
-            ResultResponse response = new ResultResponse(requestId, result);
+        } catch (CommandException | UnmarshalException | MarshalException e) {
+            completeFailure(requestId, e, dispatchResponse, dispatchContext, completion);
+        } catch (IOException | RuntimeException | Error e) {
+            completion.completeExceptionally(e);
+        }
+
+        return completion;
+    }
 
-            marshalResponse(dispatchResponse.getOutputStream(), response);
+    private void completeRequest(Object requestId, Object result, Throwable failure,
+                                 DispatchResponse dispatchResponse, DispatchContext dispatchContext,
+                                 CompletableFuture<Void> completion) {
 
-        } catch (CommandException | UnmarshalException | MarshalException e) {
-            dispatchContext.notifyFailureListeners(e);
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        try {
+            if (cause == null) {
+                ResultResponse response = new ResultResponse(requestId, result);
+
+                marshalResponse(dispatchResponse.getOutputStream(), response);
+                completion.complete(null);
+
+            } else if (cause instanceof CommandException) {
+                completeFailure(requestId, (CommandException) cause, dispatchResponse, dispatchContext, completion);
+
+            } else {
+                completion.completeExceptionally(cause);
+            }
+
+        } catch (MarshalException e) {
+            completeFailure(requestId, e, dispatchResponse, dispatchContext, completion);
+        } catch (RuntimeException | Error e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    private void completeFailure(Object requestId, Exception e,
+                                 DispatchResponse dispatchResponse, DispatchContext dispatchContext,
+                                 CompletableFuture<Void> completion) {
+
+        dispatchContext.notifyFailureListeners(e);
+
+        logger.warn("Command failed with exception", e);
+
+        try {
+            marshalFailure(dispatchResponse.getErrorStream(), requestId, e);
+            completion.complete(null);
+
+        } catch (MarshalException me) { // should not happen
+            logger.error("Failed to marshall failure response", me);
+
+            IOException ioException = new IOException(me);
+            ioException.addSuppressed(me);
+            completion.completeExceptionally(ioException);
+
+        } catch (RuntimeException | Error failure) {
+            completion.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Services the entries of a batch request one after the other, writing the response of each
+     * entry to the output stream as soon as it is available. A {@code RuntimeException} thrown by an
+     * entry (e.g. a {@code CommandException} or a failed parameter conversion) is reported in the
+     * {@code ErrorResponse} of that entry and does not affect the others.
+     * The entries share the {@code auth} of the batch request and the outcome of its authentication.
+     */
+    private void serviceBatchRequest(Request batchRequest, DispatchResponse dispatchResponse)
+            throws IOException, MarshalException {
+
+        List<Request> requests = batchRequest.getRequests();
+        if (requests == null) {
+            logger.warn("Batch request entries are not specified, dispatching rejected: {}", batchRequest);
+            throw new InvalidRequestException("Batch request entries are not specified");
+        }
+
+        Map<String, Object> auth = batchRequest.getAuth();
+        logger.trace("Auth: {}", auth);
 
-            logger.warn("Command failed with exception", e);
+        // the contexts of the entries are created by the scope: see AuthenticationScope
+        AuthenticationScope authenticationScope = new AuthenticationScope(auth);
 
-            try {
-                marshalFailure(dispatchResponse.getErrorStream(), requestId, e);
-            } catch (MarshalException me) { // should not happen
-                logger.error("Failed to marshall failure response", me);
+        Iterator<Object> responses = requests.stream()
+                .map(entry -> serviceBatchEntry(entry, authenticationScope))
+                .iterator();
 
-                IOException ioException = new IOException(me);
-                ioException.addSuppressed(me);
-                throw ioException;
+        marshaller.marshalAll(dispatchResponse.getOutputStream(), responses);
+    }
+
+    private Object serviceBatchEntry(Request entry, AuthenticationScope authenticationScope) {
+        if (entry == null) {
+            return createErrorResponse(null, new InvalidRequestException("Batch request entry is null"));
+        }
+
+        Object entryId = entry.getId();
+        try {
+            checkBatchEntry(entry);
+
+            String commandName = getCommandName(entry);
+
+            Map<String, Object> parameters = entry.getParameters();
+            logger.debug("Parameters: {}", parameters);
+
+            CommandContext commandContext = authenticationScope.createCommandContext();
+
+            Object result = awaitResult(
+                    commandDispatcher.dispatchCommandAsync(commandName, parameters, commandContext));
+
+            return new ResultResponse(entryId, result);
+
+        } catch (RuntimeException e) {
+            // the response is being streamed already: the failure can only be reported for the entry
+            logger.warn("Batch request entry {} failed with exception", entryId, e);
+
+            return createErrorResponse(entryId, e);
+        }
+    }
+
+    private static Object awaitResult(CompletionStage<Object> completionStage) {
+        try {
+            return completionStage.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw e;
+        }
+    }
+
+    private void checkBatchEntry(Request entry) {
+        if (entry.getProtocol() != null || entry.getAuth() != null || entry.getRequests() != null) {
+            logger.warn("Batch request entry with protocol, auth or entries; dispatching rejected: {}", entry);
+            throw new InvalidRequestException(
+                    "Batch request entries cannot specify protocol, auth or further entries");
         }
     }
 
@@ -123,7 +296,7 @@ public class DefaultCommandDispatcherServer implements CommandDispatcherServer {
     }
 
     protected Request unmarshalRequest(InputStream requestInputStream) throws UnmarshalException {
-        return marshaller.unmarshal(requestInputStream, Request.class);
+        return marshaller.unmarshalRequest(requestInputStream, parameterTypeResolver);
     }
 
 
@@ -135,6 +308,11 @@ public class DefaultCommandDispatcherServer implements CommandDispatcherServer {
             OutputStream responseOutputStream, Object id, Throwable throwable) throws MarshalException {
 
         Objects.requireNonNull(responseOutputStream, "responseOutputStream cannot be null");
+
+        marshaller.marshal(responseOutputStream, createErrorResponse(id, throwable));
+    }
+
+    protected ErrorResponse createErrorResponse(Object id, Throwable throwable) {
         Objects.requireNonNull(throwable, "throwable cannot be null");
 
         List<String> stackTrace = convertThrowableStackTraceToString(throwable);
@@ -144,9 +322,7 @@ public class DefaultCommandDispatcherServer implements CommandDispatcherServer {
         model.setErrorType(throwable.getClass().getCanonicalName());
         model.setStackTrace(stackTrace);
 
-        ErrorResponse errorResponse = new ErrorResponse(id, model);
-
-        marshaller.marshal(responseOutputStream, errorResponse);
+        return new ErrorResponse(id, model);
     }
 
     private List<String> convertThrowableStackTraceToString(Throwable throwable) {
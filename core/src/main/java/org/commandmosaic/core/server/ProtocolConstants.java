@@ -17,12 +17,17 @@
  
 package org.commandmosaic.core.server;
 
-final class ProtocolConstants {
+/**
+ * The protocol versions of the requests serviced by {@link DefaultCommandDispatcherServer}.
+ */
+public final class ProtocolConstants {
 
     private ProtocolConstants() {
         // no external instances
     }
 
-    static final String PROTOCOL_VERSION = "CM/1.0";
+    public static final String PROTOCOL_VERSION = "CM/1.0";
+
+    public static final String BATCH_PROTOCOL_VERSION = "CM/1.0-batch";
 
 }
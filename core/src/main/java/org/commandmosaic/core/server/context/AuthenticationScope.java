@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.server.context;
+
+import org.commandmosaic.api.CommandContext;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Shares the outcome of authenticating the caller between dispatches carrying the same
+ * credentials, e.g. the entries of a batch request, so that the caller is authenticated
+ * only once. The server places the same {@code AuthenticationScope} instance into the
+ * {@code CommandContext} of each dispatch as an immutable attribute named {@link #ATTRIBUTE_NAME}.
+ * </p>
+ *
+ * <p>
+ * The contexts of the dispatches are created by the scope itself (see {@link #createCommandContext()}),
+ * which marks them with the scope as an attribute. The outcome is only shared as long as the
+ * {@code auth} map of the context is equal to the credentials the scope was created with: if an
+ * interceptor replaces the credentials, the caller is authenticated again. Failed authentication
+ * attempts (i.e. {@code null} results or exceptions) are not remembered.
+ * </p>
+ */
+public final class AuthenticationScope {
+
+    public static final String ATTRIBUTE_NAME = AuthenticationScope.class.getName();
+
+    private final Map<String, Object> auth;
+    private final Map<Object, Object> authenticationResults = new ConcurrentHashMap<>();
+
+    public AuthenticationScope(Map<String, Object> auth) {
+        this.auth = DefaultCommandContext.copyAuth(auth);
+    }
+
+    public Map<String, Object> getAuth() {
+        return auth;
+    }
+
+    /**
+     * Creates a new {@code CommandContext} holding the credentials of the scope,
+     * which the outcome of authentication is shared within.
+     *
+     * @return a new {@code CommandContext} (never {@code null})
+     */
+    public CommandContext createCommandContext() {
+        CommandContext commandContext = new DefaultCommandContext(auth);
+        commandContext.setAttribute(ATTRIBUTE_NAME, this, CommandContext.AttributeType.Immutable);
+        return commandContext;
+    }
+
+    /**
+     * Authenticates the caller of the context specified, or returns the outcome of a previous
+     * authentication within the {@code AuthenticationScope} of the context, if there is any.
+     *
+     * @param context the context of the dispatch
+     * @param authenticatorKey identifies the authenticating party (e.g. the interceptor instance)
+     * @param authentication the function performing the authentication; might return {@code null}
+     *
+     * @param <T> the type of the authentication result
+     *
+     * @return the result of the authentication (might be {@code null})
+     */
+    public static <T> T authenticate(CommandContext context, Object authenticatorKey,
+                                     Function<CommandContext, T> authentication) {
+
+        AuthenticationScope authenticationScope = getAuthenticationScope(context);
+        if (authenticationScope == null || !Objects.equals(authenticationScope.auth, context.getAuth())) {
+            return authentication.apply(context);
+        }
+
+        @SuppressWarnings("unchecked") // the same function produced the result stored for the key
+        T result = (T) authenticationScope.authenticationResults.get(authenticatorKey);
+        if (result == null) {
+            result = authentication.apply(context);
+            if (result != null) {
+                authenticationScope.authenticationResults.putIfAbsent(authenticatorKey, result);
+            }
+        }
+
+        return result;
+    }
+
+    private static AuthenticationScope getAuthenticationScope(CommandContext context) {
+        if (context == null || !context.containsAttribute(ATTRIBUTE_NAME)) {
+            return null;
+        }
+
+        Object attribute = context.getAttribute(ATTRIBUTE_NAME, Object.class).orElse(null);
+        return attribute instanceof AuthenticationScope ? (AuthenticationScope) attribute : null;
+    }
+}
@@ -17,7 +17,6 @@
  
 package org.commandmosaic.core.server.context;
 
-import com.google.common.collect.ImmutableMap;
 import org.commandmosaic.api.CommandContext;
 
 import java.security.Principal;
@@ -125,7 +124,12 @@ public final class DefaultCommandContext implements CommandContext {
 
 
     public void setAuth(Map<String, Object> auth) {
-        this.auth = auth != null ? ImmutableMap.copyOf(auth) : null;
+        this.auth = copyAuth(auth);
+    }
+
+    static Map<String, Object> copyAuth(Map<String, Object> auth) {
+        // credentials might contain null values, e.g. {"token": null}
+        return auth != null ? Collections.unmodifiableMap(new HashMap<>(auth)) : null;
     }
 
     @Override
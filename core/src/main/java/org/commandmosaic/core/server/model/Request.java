@@ -17,6 +17,7 @@
  
 package org.commandmosaic.core.server.model;
 
+import java.util.List;
 import java.util.Map;
 
 public class Request {
@@ -26,6 +27,7 @@ public class Request {
     private String command;
     private Map<String, Object> parameters;
     private Map<String, Object> auth;
+    private List<Request> requests;
 
     public Object getId() {
         return id;
@@ -69,6 +71,13 @@ public class Request {
     }
     // CPD-ON
 
+    public List<Request> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<Request> requests) {
+        this.requests = requests;
+    }
 
     @Override
     public String toString() {
@@ -78,6 +87,7 @@ public class Request {
                 ", command='" + command + '\'' +
                 ", parameters=" + parameters +
                 ", auth=" + auth +
+                ", requests=" + requests +
                 '}';
     }
 }
@@ -20,7 +20,9 @@ package org.commandmosaic;
 
 import org.commandmosaic.api.MissingParameterException;
 import org.commandmosaic.api.ParameterInjectionException;
+import org.commandmosaic.api.conversion.TypeConversionException;
 import org.commandmosaic.core.conversion.DefaultTypeConversionService;
+import org.commandmosaic.core.parameter.FailedConversion;
 import org.commandmosaic.core.parameter.ParameterInjector;
 import org.commandmosaic.core.parameter.source.ParameterSources;
 import org.junit.*;
@@ -63,6 +65,21 @@ public class ParameterInjectorTest {
     }
 
 
+    @Test
+    public void testPrimitiveFieldInjection() {
+
+        HashMap<String, Object> parameters = new HashMap<>();
+        parameters.put("text", "ab");
+        parameters.put("times", "3");
+
+        RepeatCommand repeatCommand = new RepeatCommand();
+
+        parameterInjector.processInjection(repeatCommand, ParameterSources.mapParameterSource(parameters));
+
+        Assert.assertEquals(3, repeatCommand.getTimes());
+        Assert.assertEquals("ababab", repeatCommand.execute(null));
+    }
+
     @Test
     public void testFailingTypeConversion() {
 
@@ -81,6 +98,22 @@ public class ParameterInjectorTest {
         Assert.fail("Should have thrown an exception");
     }
 
+    @Test
+    public void testFailedConversionInjection() {
+
+        expectedEx.expect(ParameterInjectionException.class);
+        expectedEx.expectMessage("org.commandmosaic.NumberToStringCommand.value");
+
+        HashMap<String, Object> parameters = new HashMap<>();
+        parameters.put("value", new FailedConversion(new TypeConversionException("does not match")));
+
+        NumberToStringCommand numberToStringCommand = new NumberToStringCommand();
+
+        parameterInjector.processInjection(numberToStringCommand, ParameterSources.mapParameterSource(parameters));
+
+        Assert.fail("Should have thrown an exception");
+    }
+
     @Test
     public void testMapInjection() {
 
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.buffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class BufferPoolTest {
+
+    @Test
+    public void testBufferIsReused() {
+        BufferPool bufferPool = new BufferPool(1, 16, 64);
+
+        PooledBuffer buffer = bufferPool.acquire();
+        buffer.write(42);
+        buffer.release();
+
+        PooledBuffer reusedBuffer = bufferPool.acquire();
+        Assert.assertSame(buffer, reusedBuffer);
+        Assert.assertEquals(0, reusedBuffer.size());
+    }
+
+    @Test
+    public void testLargeBufferIsNotRetained() {
+        BufferPool bufferPool = new BufferPool(1, 16, 64);
+
+        PooledBuffer buffer = bufferPool.acquire();
+        buffer.write(new byte[128], 0, 128);
+        buffer.release();
+
+        Assert.assertNotSame(buffer, bufferPool.acquire());
+    }
+
+    @Test
+    public void testReadAndWriteContent() throws IOException {
+        BufferPool bufferPool = new BufferPool(1, 16, 4096);
+        byte[] content = "Hello world! Hello world! Hello world!".getBytes(StandardCharsets.UTF_8);
+
+        PooledBuffer buffer = bufferPool.acquire();
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(content);
+        while (buffer.readFrom(inputStream) != -1) {
+            // read until the end of the stream
+        }
+        Assert.assertArrayEquals(content, buffer.toByteArray());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        int offset = 0;
+        while (offset < buffer.size()) {
+            offset += buffer.writeTo(outputStream, offset, 5);
+        }
+        Assert.assertArrayEquals(content, outputStream.toByteArray());
+    }
+}
@@ -19,10 +19,12 @@ package org.commandmosaic.core.conversion;
 
 import org.commandmosaic.api.conversion.TypeConversionException;
 import org.commandmosaic.api.conversion.TypeConversionService;
+import org.commandmosaic.api.conversion.TypeConverter;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.*;
@@ -36,6 +38,13 @@ public class DefaultTypeConversionServiceTest {
         defaultTypeConversionService = new DefaultTypeConversionService();
     }
 
+    @Test
+    public void testRestrictedTargetTypes() {
+        Set<Class<?>> restrictedTargetTypes = DefaultTypeConversionService.getRestrictedTargetTypes();
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList(Date.class, Timestamp.class)), restrictedTargetTypes);
+    }
+
     @Test
     public void testConversionToShort() {
 
@@ -192,6 +201,62 @@ public class DefaultTypeConversionServiceTest {
         assertConverted(fooBarPOJO, map, FooBarPOJO.class);
     }
 
+    @Test
+    public void testCompiledConverters() {
+        TypeConverter<String, Long> simpleConverter =
+                defaultTypeConversionService.getConverter(String.class, Long.class);
+        Assert.assertEquals(Long.valueOf(42L), simpleConverter.convert("42"));
+        Assert.assertThrows(TypeConversionException.class, () -> simpleConverter.convert("foo"));
+        Assert.assertSame(simpleConverter, defaultTypeConversionService.getConverter(String.class, Long.class));
+
+        TypeConverter<Integer, Number> identityConverter =
+                defaultTypeConversionService.getConverter(Integer.class, Number.class);
+        Integer value = 42;
+        Assert.assertSame(value, identityConverter.convert(value));
+
+        @SuppressWarnings("rawtypes")
+        TypeConverter<HashMap, FooBarPOJO> objectMapperConverter =
+                defaultTypeConversionService.getConverter(HashMap.class, FooBarPOJO.class);
+        HashMap<String, Object> map = new HashMap<>();
+        map.put("foo", "bar");
+        Assert.assertEquals("bar", objectMapperConverter.convert(map).getFoo());
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testGenericTypeConversion() throws NoSuchFieldException {
+        Type longListType = GenericFields.class.getField("longList").getGenericType();
+        Type pojoMapType = GenericFields.class.getField("pojoMap").getGenericType();
+        Type optionalLongType = GenericFields.class.getField("optionalLong").getGenericType();
+
+        TypeConverter<ArrayList, Object> listConverter =
+                defaultTypeConversionService.getConverter(ArrayList.class, longListType);
+
+        List<Long> longs = new ArrayList<>(Arrays.asList(1L, 2L));
+        Assert.assertSame(longs, listConverter.convert((ArrayList) longs));
+        Assert.assertEquals(longs, listConverter.convert(new ArrayList<>(Arrays.asList(1, 2))));
+
+        HashMap<String, Object> pojoProperties = new HashMap<>();
+        pojoProperties.put("foo", "bar");
+        pojoProperties.put("bar", 42);
+        HashMap<String, Object> map = new HashMap<>();
+        map.put("first", pojoProperties);
+
+        Map<?, ?> convertedMap = (Map<?, ?>) defaultTypeConversionService
+                .getConverter(HashMap.class, pojoMapType).convert(map);
+        Assert.assertEquals("bar", ((FooBarPOJO) convertedMap.get("first")).getFoo());
+
+        Assert.assertEquals(Optional.of(42L),
+                defaultTypeConversionService.getConverter(String.class, optionalLongType).convert("42"));
+    }
+
+    @SuppressWarnings("unused")
+    public static class GenericFields {
+        public List<Long> longList;
+        public Map<String, FooBarPOJO> pojoMap;
+        public Optional<Long> optionalLong;
+    }
+
 
 
 
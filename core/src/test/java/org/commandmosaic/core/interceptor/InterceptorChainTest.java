@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.core.interceptor;
+
+import org.commandmosaic.GreetingCommand;
+import org.commandmosaic.RepeatCommand;
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.api.executor.CommandExecutor;
+import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.api.interceptor.CommandInterceptor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class InterceptorChainTest {
+
+    private List<String> invocations;
+    private CommandExecutor commandExecutor;
+
+    @Before
+    public void beforeTest() {
+        invocations = new ArrayList<>();
+        commandExecutor = new CommandExecutor() {
+            @Override
+            public <R, C extends Command<R>> R execute(Class<C> commandClass,
+                                                       ParameterSource parameters, CommandContext context) {
+                invocations.add(commandClass.getSimpleName());
+                return null;
+            }
+        };
+    }
+
+    @Test
+    public void testInterceptorsAreCalledInOrder() {
+        InterceptorChain interceptorChain = new InterceptorChain(Arrays.asList(
+                new RecordingInterceptor("first", null),
+                new RecordingInterceptor("second", null)), commandExecutor);
+
+        interceptorChain.execute(GreetingCommand.class, null, null);
+
+        Assert.assertEquals(Arrays.asList("first", "second", "GreetingCommand"), invocations);
+    }
+
+    @Test
+    public void testInterceptorNotApplyingIsSkipped() {
+        InterceptorChain interceptorChain = new InterceptorChain(Arrays.asList(
+                new RecordingInterceptor("first", RepeatCommand.class),
+                new RecordingInterceptor("second", null)), commandExecutor);
+
+        interceptorChain.execute(GreetingCommand.class, null, null);
+        interceptorChain.execute(RepeatCommand.class, null, null);
+
+        Assert.assertEquals(Arrays.asList("second", "GreetingCommand", "first", "second", "RepeatCommand"),
+                invocations);
+    }
+
+    @Test
+    public void testNoInterceptors() {
+        InterceptorChain interceptorChain = new InterceptorChain(Collections.emptyList(), commandExecutor);
+
+        interceptorChain.execute(GreetingCommand.class, null, null);
+
+        Assert.assertEquals(Collections.singletonList("GreetingCommand"), invocations);
+    }
+
+    private final class RecordingInterceptor implements CommandInterceptor {
+
+        private final String name;
+        private final Class<?> onlyAppliesTo;
+
+        private RecordingInterceptor(String name, Class<?> onlyAppliesTo) {
+            this.name = name;
+            this.onlyAppliesTo = onlyAppliesTo;
+        }
+
+        @Override
+        public <R, C extends Command<R>> R intercept(Class<C> commandClass, ParameterSource parameters,
+                                                     CommandContext context, CommandExecutor next) {
+            invocations.add(name);
+            return next.execute(commandClass, parameters, context);
+        }
+
+        @Override
+        public boolean appliesTo(Class<? extends Command<?>> commandClass) {
+            return onlyAppliesTo == null || onlyAppliesTo == commandClass;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+ 
+package org.commandmosaic.core.marshaller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.commandmosaic.core.parameter.FailedConversion;
+import org.commandmosaic.core.server.model.Request;
+import org.commandmosaic.core.server.model.ResultResponse;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class StreamingMarshallerTest {
+
+    private StreamingMarshaller marshaller;
+
+    @Before
+    public void beforeTest() {
+        marshaller = new StreamingMarshaller();
+    }
+
+    @Test
+    public void testUnmarshal() throws UnmarshalException {
+        String json = "{\"protocol\":\"CM/1.0\",\"command\":\"GreetingCommand\","
+                + "\"parameters\":{\"name\":\"Jöhn Smith\",\"count\":42}}";
+
+        Request request = marshaller.unmarshal(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Request.class);
+
+        Assert.assertEquals("CM/1.0", request.getProtocol());
+        Assert.assertEquals("GreetingCommand", request.getCommand());
+        Assert.assertEquals("Jöhn Smith", request.getParameters().get("name"));
+        Assert.assertEquals(42, request.getParameters().get("count"));
+        Assert.assertNull(request.getAuth());
+    }
+
+    @Test
+    public void testMarshal() throws MarshalException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        marshaller.marshal(outputStream, new ResultResponse(null, "Hellö"));
+
+        Assert.assertEquals("{\"result\":\"Hellö\"}", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testUnmarshalRequestWithTypedParameters() throws UnmarshalException {
+        Map<String, Type> parameterTypes = new HashMap<>();
+        parameterTypes.put("count", Long.class);
+        parameterTypes.put("values", new TypeReference<List<Long>>() { }.getType());
+        parameterTypes.put("mismatch", Long.class);
+        parameterTypes.put("structuredMismatch", Long.class);
+
+        String json = "{\"protocol\":\"CM/1.0\",\"command\":\"SomeCommand\",\"parameters\":{"
+                + "\"count\":\"42\",\"values\":[1,2],\"mismatch\":\"abc\","
+                + "\"structuredMismatch\":{\"a\":{\"b\":[1]}},\"untyped\":3,\"nullValue\":null},\"auth\":{\"user\":\"x\"}}";
+
+        Request request = marshaller.unmarshalRequest(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                commandName -> "SomeCommand".equals(commandName) ? parameterTypes : null);
+
+        Map<String, Object> parameters = request.getParameters();
+        Assert.assertEquals(42L, parameters.get("count"));
+        Assert.assertEquals(Arrays.asList(1L, 2L), parameters.get("values"));
+        Assert.assertTrue(parameters.get("mismatch") instanceof FailedConversion);
+        Assert.assertTrue(parameters.get("structuredMismatch") instanceof FailedConversion);
+        Assert.assertEquals(3, parameters.get("untyped"));
+        Assert.assertTrue(parameters.containsKey("nullValue"));
+        Assert.assertNull(parameters.get("nullValue"));
+        Assert.assertEquals("x", request.getAuth().get("user"));
+    }
+
+    @Test
+    public void testUnmarshalRequestWithOutOfRangeNumber() throws UnmarshalException {
+        Map<String, Type> parameterTypes = new HashMap<>();
+        parameterTypes.put("count", Integer.class);
+        parameterTypes.put("name", String.class);
+
+        String json = "{\"protocol\":\"CM/1.0\",\"command\":\"SomeCommand\","
+                + "\"parameters\":{\"count\":3000000000,\"name\":\"x\"}}";
+
+        Request request = marshaller.unmarshalRequest(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                commandName -> parameterTypes);
+
+        Map<String, Object> parameters = request.getParameters();
+        Assert.assertTrue(parameters.get("count") instanceof FailedConversion);
+        Assert.assertEquals("x", parameters.get("name"));
+    }
+
+    @Test
+    public void testUnmarshalRequestWithParametersBeforeCommand() throws UnmarshalException {
+        String json = "{\"parameters\":{\"count\":42},\"protocol\":\"CM/1.0\",\"command\":\"SomeCommand\"}";
+
+        Request request = marshaller.unmarshalRequest(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                commandName -> Collections.singletonMap("count", Long.class));
+
+        Assert.assertEquals("SomeCommand", request.getCommand());
+        Assert.assertEquals(42, request.getParameters().get("count"));
+    }
+
+    @Test(expected = UnmarshalException.class)
+    public void testUnmarshalRequestWithUnknownField() throws UnmarshalException {
+        String json = "{\"protocol\":\"CM/1.0\",\"unknown\":1}";
+
+        marshaller.unmarshalRequest(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), commandName -> null);
+    }
+
+    @Test(expected = UnmarshalException.class)
+    public void testUnmarshalInvalidInput() throws UnmarshalException {
+        marshaller.unmarshal(
+                new ByteArrayInputStream("{\"protocol\":".getBytes(StandardCharsets.UTF_8)), Request.class);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+ 
+package org.commandmosaic.core.registry;
+
+import org.commandmosaic.api.server.NoSuchCommandException;
+import org.commandmosaic.core.registry.commands.EchoCommand;
+import org.commandmosaic.core.registry.commands.NotACommand;
+import org.commandmosaic.core.registry.commands.nested.NestedEchoCommand;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Enumeration;
+
+public class CommandRegistryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private CommandRegistry commandRegistry;
+
+    @Before
+    public void beforeTest() {
+        commandRegistry = new CommandRegistry(EchoCommand.class.getPackage().getName());
+    }
+
+    @Test
+    public void testCommandsAreDiscovered() {
+        Assert.assertTrue(commandRegistry.getCommandClasses().contains(EchoCommand.class));
+        Assert.assertTrue(commandRegistry.getCommandClasses().contains(NestedEchoCommand.class));
+        Assert.assertFalse(commandRegistry.getCommandClasses().contains(NotACommand.class));
+    }
+
+    @Test
+    public void testCommandIsResolvedByName() {
+        Assert.assertEquals(EchoCommand.class, commandRegistry.getCommandClass("EchoCommand"));
+    }
+
+    @Test
+    public void testCommandInNestedPackageIsResolvedByName() {
+        Assert.assertEquals(NestedEchoCommand.class, commandRegistry.getCommandClass("nested/NestedEchoCommand"));
+        Assert.assertEquals(NestedEchoCommand.class, commandRegistry.getCommandClass("nested.NestedEchoCommand"));
+    }
+
+    @Test(expected = NoSuchCommandException.class)
+    public void testUnknownCommandIsRejected() {
+        commandRegistry.getCommandClass("NoSuchCommand");
+    }
+
+    @Test(expected = NoSuchCommandException.class)
+    public void testNonCommandClassIsRejected() {
+        commandRegistry.getCommandClass(NotACommand.class.getSimpleName());
+    }
+
+    @Test
+    public void testCommandMissingFromIndexIsRejected() throws IOException {
+        CommandRegistry indexedCommandRegistry = new CommandRegistry(
+                EchoCommand.class.getPackage().getName(), indexClassLoader(EchoCommand.class));
+
+        Assert.assertEquals(EchoCommand.class, indexedCommandRegistry.getCommandClass("EchoCommand"));
+        try {
+            indexedCommandRegistry.getCommandClass("nested.NestedEchoCommand");
+            Assert.fail("Command missing from the index resolved");
+        } catch (NoSuchCommandException expected) {
+            // the index is authoritative
+        }
+    }
+
+    @Test
+    public void testCommandMissingFromPartialIndexIsResolved() throws IOException {
+        System.setProperty(CommandRegistry.PARTIAL_COMMAND_INDEX_PROPERTY, "true");
+        try {
+            CommandRegistry indexedCommandRegistry = new CommandRegistry(
+                    EchoCommand.class.getPackage().getName(), indexClassLoader(EchoCommand.class));
+
+            Assert.assertEquals(NestedEchoCommand.class,
+                    indexedCommandRegistry.getCommandClass("nested.NestedEchoCommand"));
+        } finally {
+            System.clearProperty(CommandRegistry.PARTIAL_COMMAND_INDEX_PROPERTY);
+        }
+    }
+
+    private ClassLoader indexClassLoader(Class<?> indexedClass) throws IOException {
+        File index = temporaryFolder.newFile();
+        Files.write(index.toPath(), Collections.singletonList(indexedClass.getName()), StandardCharsets.UTF_8);
+        URL indexUrl = index.toURI().toURL();
+
+        return new ClassLoader(CommandRegistryTest.class.getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                return CommandIndex.COMMAND_INDEX_LOCATION.equals(name)
+                        ? Collections.enumeration(Collections.singletonList(indexUrl)) : super.getResources(name);
+            }
+        };
+    }
+}
@@ -20,19 +20,19 @@ package org.commandmosaic.plain;
 import org.commandmosaic.api.Command;
 import org.commandmosaic.api.conversion.TypeConversionService;
 import org.commandmosaic.api.CommandContext;
-import org.commandmosaic.api.executor.CommandExecutor;
 import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.core.executor.CommandInstantiator;
+import org.commandmosaic.core.executor.PreparableCommandExecutor;
 import org.commandmosaic.core.parameter.ParameterInjector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
-
-final class ReflectiveCommandExecutor implements CommandExecutor {
+final class ReflectiveCommandExecutor implements PreparableCommandExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(ReflectiveCommandExecutor.class);
 
     private final ParameterInjector parameterInjector;
+    private final CommandInstantiator commandInstantiator = new CommandInstantiator();
 
     ReflectiveCommandExecutor(TypeConversionService typeConversionService) {
         parameterInjector = new ParameterInjector(typeConversionService);
@@ -44,22 +44,18 @@ final class ReflectiveCommandExecutor implements CommandExecutor {
 
         log.debug("Executing command {} with parameters: {} and context: {}", commandClass, parameters, context);
 
-        C command = instantiateCommand(commandClass);
+        C command = commandInstantiator.instantiate(commandClass);
 
         parameterInjector.processInjection(command, parameters);
 
         return command.execute(context);
     }
 
-    private <R, C extends Command<R>> C instantiateCommand(Class<C> commandClass) {
-        try {
-            return commandClass.getDeclaredConstructor().newInstance();
+    @Override
+    public void prepare(Class<? extends Command<?>> commandClass) {
+        log.debug("Preparing execution of command {}", commandClass);
 
-        } catch (NoSuchMethodException
-                | InstantiationException
-                | IllegalAccessException
-                | InvocationTargetException e) {
-            throw new RuntimeException("Failed to instantiate Command: " + commandClass, e);
-        }
+        commandInstantiator.prepare(commandClass);
+        parameterInjector.prepare(commandClass);
     }
 }
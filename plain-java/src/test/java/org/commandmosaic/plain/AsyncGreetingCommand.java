@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.plain;
+
+import org.commandmosaic.api.AsyncCommand;
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.api.Parameter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public class AsyncGreetingCommand implements AsyncCommand<String> {
+
+    @Parameter
+    private String message;
+
+    @Parameter
+    private String name;
+
+    @Override
+    public CompletionStage<String> execute(CommandContext context) {
+        return CompletableFuture.supplyAsync(() -> message + " " + name);
+    }
+}
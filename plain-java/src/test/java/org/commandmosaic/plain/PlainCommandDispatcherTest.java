@@ -17,13 +17,34 @@
  
 package org.commandmosaic.plain;
 
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.CommandContext;
 import org.commandmosaic.api.CommandDispatcher;
+import org.commandmosaic.api.CommandInvocation;
 import org.commandmosaic.api.configuration.CommandDispatcherConfiguration;
+import org.commandmosaic.api.conversion.TypeConversionService;
+import org.commandmosaic.api.executor.CommandExecutor;
+import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.core.DefaultCommandDispatcher;
+import org.commandmosaic.core.executor.PreparableCommandExecutor;
+import org.commandmosaic.core.interceptor.PreparableCommandInterceptor;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PlainCommandDispatcherTest {
 
@@ -79,5 +100,215 @@ public class PlainCommandDispatcherTest {
         Assert.assertEquals( "Hello John Smith", message);
     }
 
+    @Test
+    public void testEagerInitialization() {
+        CommandDispatcherConfiguration configuration = CommandDispatcherConfiguration.builder()
+                .rootPackageFromClass(PlainCommandDispatcherTest.class)
+                .eagerInitialization(true)
+                .build();
+
+        Set<Class<?>> preparedCommandClasses = ConcurrentHashMap.newKeySet();
+
+        PlainCommandDispatcherFactory recordingFactory = new PlainCommandDispatcherFactory() {
+            @Override
+            protected CommandExecutor getCommandExecutor(TypeConversionService typeConversionService) {
+                PreparableCommandExecutor commandExecutor =
+                        (PreparableCommandExecutor) super.getCommandExecutor(typeConversionService);
+
+                return new PreparableCommandExecutor() {
+                    @Override
+                    public void prepare(Class<? extends Command<?>> commandClass) {
+                        preparedCommandClasses.add(commandClass);
+                        commandExecutor.prepare(commandClass);
+                    }
+
+                    @Override
+                    public <R, C extends Command<R>> R execute(Class<C> commandClass,
+                                                               ParameterSource parameters,
+                                                               CommandContext context) {
+                        return commandExecutor.execute(commandClass, parameters, context);
+                    }
+                };
+            }
+        };
+
+        DefaultCommandDispatcher eagerCommandDispatcher =
+                (DefaultCommandDispatcher) recordingFactory.getCommandDispatcher(configuration);
+
+        Assert.assertTrue(preparedCommandClasses.contains(GreetingCommand.class));
+        Assert.assertEquals(new HashSet<>(eagerCommandDispatcher.getCommandRegistry().getCommandClasses()),
+                preparedCommandClasses);
+
+        HashMap<String, Object> parameters = new HashMap<>();
+        parameters.put("name", "John Smith");
+        parameters.put("message", "Hello");
+
+        String message =
+                (String) eagerCommandDispatcher.dispatchCommand("GreetingCommand", parameters, null);
+
+        Assert.assertEquals( "Hello John Smith", message);
+    }
+
+    @Test
+    public void testMisconfiguredCommandFailsDispatcherCreation() {
+        CommandDispatcherConfiguration configuration = CommandDispatcherConfiguration.builder()
+                .rootPackageFromClass(PlainCommandDispatcherTest.class)
+                .interceptor(AsyncGreetingCommandRejectingInterceptor.class)
+                .build();
+
+        try {
+            PlainCommandDispatcherFactory.getInstance().getCommandDispatcher(configuration);
+            Assert.fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains(AsyncGreetingCommand.class.getName()));
+            Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    public static class AsyncGreetingCommandRejectingInterceptor implements PreparableCommandInterceptor {
+
+        @Override
+        public void prepare(Class<? extends Command<?>> commandClass) {
+            if (commandClass == AsyncGreetingCommand.class) {
+                throw new IllegalArgumentException("Misconfigured command: " + commandClass);
+            }
+        }
+
+        @Override
+        public <R, C extends Command<R>> R intercept(Class<C> commandClass, ParameterSource parameters,
+                                                     CommandContext context, CommandExecutor next) {
+            return next.execute(commandClass, parameters, context);
+        }
+    }
+
+    @Test
+    public void testAsyncDispatching() throws Exception {
+
+        String message = commandDispatcher.dispatchCommandAsync(AsyncGreetingCommand.class,
+                greetingParameters("Hello", "John Smith"), null).toCompletableFuture().get();
+
+        Assert.assertEquals("Hello John Smith", message);
 
+        Object nameDispatchedMessage = commandDispatcher.dispatchCommandAsync("AsyncGreetingCommand",
+                greetingParameters("Hi", "Jane Doe"), null).toCompletableFuture().get();
+
+        Assert.assertEquals("Hi Jane Doe", nameDispatchedMessage);
+
+        // synchronous commands are completed by the time they are returned
+        Object synchronousMessage = commandDispatcher.dispatchCommandAsync("GreetingCommand",
+                greetingParameters("Howdy", "Joe Bloggs"), null).toCompletableFuture().getNow(null);
+
+        Assert.assertEquals("Howdy Joe Bloggs", synchronousMessage);
+    }
+
+    @Test
+    public void testDispatchAll() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        AtomicInteger submittedCommands = new AtomicInteger();
+        try {
+            CommandDispatcherConfiguration configuration = CommandDispatcherConfiguration.builder()
+                    .rootPackageFromClass(PlainCommandDispatcherTest.class)
+                    .dispatchExecutor(command -> {
+                        submittedCommands.incrementAndGet();
+                        executorService.execute(command);
+                    })
+                    .build();
+
+            CommandDispatcher concurrentCommandDispatcher =
+                    PlainCommandDispatcherFactory.getInstance().getCommandDispatcher(configuration);
+
+            List<Object> messages = concurrentCommandDispatcher.dispatchAll(Arrays.asList(
+                    CommandInvocation.of(GreetingCommand.class, greetingParameters("Hello", "John Smith")),
+                    CommandInvocation.of(GreetingCommand.class, greetingParameters("Hi", "Jane Doe")),
+                    CommandInvocation.of(GreetingCommand.class, greetingParameters("Howdy", "Joe Bloggs"))),
+                    null);
+
+            Assert.assertEquals(Arrays.asList("Hello John Smith", "Hi Jane Doe", "Howdy Joe Bloggs"), messages);
+
+            // the first command is executed on the calling thread
+            Assert.assertEquals(2, submittedCommands.get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testDispatchAllExecutesRejectedCommandsOnCallingThread() {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        AtomicInteger submittedCommands = new AtomicInteger();
+        AtomicBoolean submittedCommandStarted = new AtomicBoolean();
+        try {
+            CommandDispatcherConfiguration configuration = CommandDispatcherConfiguration.builder()
+                    .rootPackageFromClass(PlainCommandDispatcherTest.class)
+                    .dispatchExecutor(command -> {
+                        if (submittedCommands.incrementAndGet() > 1) {
+                            throw new RejectedExecutionException("Executor is saturated");
+                        }
+                        executorService.execute(() -> {
+                            sleepUninterruptibly(200);
+                            submittedCommandStarted.set(true);
+                            command.run();
+                        });
+                    })
+                    .build();
+
+            CommandDispatcher concurrentCommandDispatcher =
+                    PlainCommandDispatcherFactory.getInstance().getCommandDispatcher(configuration);
+
+            List<Object> messages = concurrentCommandDispatcher.dispatchAll(Arrays.asList(
+                    CommandInvocation.of(GreetingCommand.class, greetingParameters("Hello", "John Smith")),
+                    CommandInvocation.of(GreetingCommand.class, greetingParameters("Hi", "Jane Doe")),
+                    CommandInvocation.of(GreetingCommand.class, greetingParameters("Howdy", "Joe Bloggs"))),
+                    null);
+
+            // the rejected command, as well as the one submitted but not started by the executor
+            // yet, were executed by the calling thread
+            Assert.assertEquals(Arrays.asList("Hello John Smith", "Hi Jane Doe", "Howdy Joe Bloggs"), messages);
+            Assert.assertFalse(submittedCommandStarted.get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testDispatchAllExecutesCommandsNotStartedByExecutor() {
+        // an executor, whose threads are all busy: the commands submitted are never started
+        List<Runnable> queuedCommands = new ArrayList<>();
+
+        CommandDispatcherConfiguration configuration = CommandDispatcherConfiguration.builder()
+                .rootPackageFromClass(PlainCommandDispatcherTest.class)
+                .dispatchExecutor(queuedCommands::add)
+                .build();
+
+        CommandDispatcher concurrentCommandDispatcher =
+                PlainCommandDispatcherFactory.getInstance().getCommandDispatcher(configuration);
+
+        List<Object> messages = concurrentCommandDispatcher.dispatchAll(Arrays.asList(
+                CommandInvocation.of(GreetingCommand.class, greetingParameters("Hello", "John Smith")),
+                CommandInvocation.of(GreetingCommand.class, greetingParameters("Hi", "Jane Doe")),
+                CommandInvocation.of(GreetingCommand.class, greetingParameters("Howdy", "Joe Bloggs"))),
+                null);
+
+        // the calling thread executed the commands instead of waiting for them
+        Assert.assertEquals(Arrays.asList("Hello John Smith", "Hi Jane Doe", "Howdy Joe Bloggs"), messages);
+        Assert.assertEquals(2, queuedCommands.size());
+
+        // once started, the commands executed already are not executed again
+        queuedCommands.forEach(Runnable::run);
+    }
+
+    private static void sleepUninterruptibly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, Object> greetingParameters(String message, String name) {
+        HashMap<String, Object> parameters = new HashMap<>();
+        parameters.put("name", name);
+        parameters.put("message", message);
+        return parameters;
+    }
 }
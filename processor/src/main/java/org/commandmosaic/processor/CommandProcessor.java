@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * <p>
+ * Annotation processor, which generates the build-time metadata CommandMosaic
+ * uses to avoid classpath scanning and reflective field access at runtime.
+ * </p>
+ *
+ * <p>
+ * For every compilation unit processed, it generates:
+ * </p>
+ * <ul>
+ *     <li>a command index ({@value #COMMAND_INDEX_LOCATION}), listing the binary
+ *     name of every concrete {@code Command} implementation</li>
+ *     <li>a {@code <CommandClass>_ParameterBinder} class in the package of each command,
+ *     which assigns the {@code @Parameter} fields of the command directly. A binder is
+ *     only generated if all parameter fields are accessible from the package of the
+ *     command (i.e. none of them is {@code private} or {@code final}); otherwise
+ *     the command falls back to reflective injection.</li>
+ *     <li>a GraalVM native-image reflection configuration, registering the commands (and their
+ *     superclasses) and the generated parameter binders for the reflective access CommandMosaic
+ *     performs at runtime. The configuration is written to
+ *     {@code META-INF/native-image/commandmosaic/<package>/reflect-config.json}, where
+ *     {@code <package>} is the common package of the commands, so that the configurations of
+ *     multiple artifacts do not clash on the classpath of the image; a different location can be
+ *     specified with the {@value #REFLECT_CONFIG_LOCATION_OPTION} processor option
+ *     (e.g. {@code -Acommandmosaic.reflectConfigLocation=META-INF/native-image/com.example/app/reflect-config.json}).</li>
+ * </ul>
+ *
+ * <p>
+ * The processor is activated by adding {@code commandmosaic-processor} to the
+ * compile classpath (or the annotation processor path) of the project containing
+ * the commands.
+ * </p>
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(CommandProcessor.REFLECT_CONFIG_LOCATION_OPTION)
+public class CommandProcessor extends AbstractProcessor {
+
+    // NOTE: must be kept in sync with org.commandmosaic.core.registry.CommandIndex
+    static final String COMMAND_INDEX_LOCATION = "META-INF/commandmosaic/commands";
+
+    // NOTE: must be kept in sync with org.commandmosaic.core.parameter.ReflectionOperations
+    static final String PARAMETER_BINDER_SUFFIX = "_ParameterBinder";
+
+    static final String REFLECT_CONFIG_LOCATION_OPTION = "commandmosaic.reflectConfigLocation";
+
+    static final String REFLECT_CONFIG_DIRECTORY = "META-INF/native-image/commandmosaic/";
+    static final String REFLECT_CONFIG_FILE_NAME = "reflect-config.json";
+
+    // the directory of commands declared in the default package
+    private static final String DEFAULT_PACKAGE_DIRECTORY = "default";
+
+    private static final String COMMAND_TYPE_NAME = "org.commandmosaic.api.Command";
+    private static final String PARAMETER_TYPE_NAME = "org.commandmosaic.api.Parameter";
+    private static final String PARAMETER_BINDER_TYPE_NAME = "org.commandmosaic.core.parameter.ParameterBinder";
+
+    private final Set<String> commandClassNames = new TreeSet<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    private Elements elementUtils;
+    private Types typeUtils;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elementUtils = processingEnv.getElementUtils();
+        this.typeUtils = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement commandTypeElement = elementUtils.getTypeElement(COMMAND_TYPE_NAME);
+        if (commandTypeElement == null) {
+            // commandmosaic-api is not on the classpath: nothing to do
+            return false;
+        }
+
+        if (roundEnv.processingOver()) {
+            Set<String> indexEntries = writeCommandIndex();
+            writeReflectConfig(indexEntries);
+        } else {
+            TypeMirror commandType = typeUtils.erasure(commandTypeElement.asType());
+            for (Element rootElement : roundEnv.getRootElements()) {
+                processElement(rootElement, commandType);
+            }
+        }
+
+        // other processors might also be interested in the annotations: we never claim them
+        return false;
+    }
+
+    private void processElement(Element element, TypeMirror commandType) {
+        if (element.getKind() == ElementKind.CLASS && isCommandClass((TypeElement) element, commandType)) {
+            TypeElement commandClass = (TypeElement) element;
+
+            commandClassNames.add(elementUtils.getBinaryName(commandClass).toString());
+            originatingElements.add(commandClass);
+
+            generateParameterBinder(commandClass);
+        }
+
+        for (Element enclosedElement : element.getEnclosedElements()) {
+            if (enclosedElement instanceof TypeElement) {
+                processElement(enclosedElement, commandType);
+            }
+        }
+    }
+
+    private boolean isCommandClass(TypeElement typeElement, TypeMirror commandType) {
+        return !typeElement.getModifiers().contains(Modifier.ABSTRACT)
+                && typeUtils.isAssignable(typeUtils.erasure(typeElement.asType()), commandType);
+    }
+
+    private void generateParameterBinder(TypeElement commandClass) {
+        List<VariableElement> parameterFields = collectParameterFields(commandClass);
+        if (parameterFields.isEmpty() || !isBindable(commandClass, parameterFields)) {
+            return;
+        }
+
+        PackageElement packageElement = elementUtils.getPackageOf(commandClass);
+        String packageName = packageElement.getQualifiedName().toString();
+        String commandBinaryName = elementUtils.getBinaryName(commandClass).toString();
+        String binderSimpleName = (packageName.isEmpty()
+                ? commandBinaryName
+                : commandBinaryName.substring(packageName.length() + 1)) + PARAMETER_BINDER_SUFFIX;
+        String binderName = packageName.isEmpty() ? binderSimpleName : packageName + "." + binderSimpleName;
+        String commandTypeName = commandClass.getQualifiedName().toString();
+
+        StringBuilder parameterNames = new StringBuilder();
+        StringBuilder bindCases = new StringBuilder();
+        for (int i = 0; i < parameterFields.size(); i++) {
+            VariableElement field = parameterFields.get(i);
+            TypeElement declaringClass = (TypeElement) field.getEnclosingElement();
+
+            parameterNames.append(i == 0 ? "\n" : ",\n").append("                    \"")
+                    .append(elementUtils.getBinaryName(declaringClass)).append('#')
+                    .append(field.getSimpleName()).append('"');
+
+            bindCases.append("            case ").append(i).append(":\n")
+                    .append("                ((").append(declaringClass.getQualifiedName()).append(") target).")
+                    .append(field.getSimpleName()).append(" = (").append(getAssignableTypeName(field))
+                    .append(") value;\n")
+                    .append("                break;\n");
+        }
+
+        StringBuilder source = new StringBuilder(1024);
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("// Generated by commandmosaic-processor: do not edit\n")
+                .append("public final class ").append(binderSimpleName)
+                .append(" implements ").append(PARAMETER_BINDER_TYPE_NAME)
+                .append('<').append(commandTypeName).append("> {\n\n")
+                .append("    private static final java.util.List<java.lang.String> PARAMETER_NAMES =\n")
+                .append("            java.util.Collections.unmodifiableList(java.util.Arrays.asList(")
+                .append(parameterNames).append("));\n\n")
+                .append("    @Override\n")
+                .append("    public java.lang.Class<").append(commandTypeName).append("> getCommandClass() {\n")
+                .append("        return ").append(commandTypeName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.List<java.lang.String> getParameterNames() {\n")
+                .append("        return PARAMETER_NAMES;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void bind(").append(commandTypeName)
+                .append(" target, int index, java.lang.Object value) {\n")
+                .append("        switch (index) {\n")
+                .append(bindCases);
+
+        source.append("            default:\n")
+                .append("                throw new java.lang.IndexOutOfBoundsException(\"No parameter at index: \" + index);\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(binderName, commandClass);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to generate parameter binder " + binderName + ": " + e, commandClass);
+        }
+    }
+
+    private List<VariableElement> collectParameterFields(TypeElement commandClass) {
+        List<VariableElement> parameterFields = new ArrayList<>();
+
+        TypeElement currentClass = commandClass;
+        while (currentClass != null && !Object.class.getName().contentEquals(currentClass.getQualifiedName())) {
+            List<VariableElement> currentFields = new ArrayList<>();
+            for (Element enclosedElement : currentClass.getEnclosedElements()) {
+                if (enclosedElement.getKind() == ElementKind.FIELD
+                        && !enclosedElement.getModifiers().contains(Modifier.STATIC)
+                        && isParameterField(enclosedElement)) {
+                    currentFields.add((VariableElement) enclosedElement);
+                }
+            }
+            parameterFields.addAll(0, currentFields);
+
+            TypeMirror superclass = currentClass.getSuperclass();
+            currentClass = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+
+        return parameterFields;
+    }
+
+    private static boolean isParameterField(Element field) {
+        for (AnnotationMirror annotationMirror : field.getAnnotationMirrors()) {
+            Element annotationType = annotationMirror.getAnnotationType().asElement();
+            if (PARAMETER_TYPE_NAME.contentEquals(((TypeElement) annotationType).getQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isBindable(TypeElement commandClass, List<VariableElement> parameterFields) {
+        if (!commandClass.getTypeParameters().isEmpty()
+                || commandClass.getNestingKind() == NestingKind.LOCAL
+                || commandClass.getNestingKind() == NestingKind.ANONYMOUS) {
+            return false;
+        }
+
+        PackageElement commandPackage = elementUtils.getPackageOf(commandClass);
+        if (!isAccessibleFrom(commandClass, commandPackage)) {
+            return false;
+        }
+
+        for (VariableElement field : parameterFields) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC)
+                    && !commandPackage.equals(elementUtils.getPackageOf(field))) {
+                return false;
+            }
+            if (!isAccessibleFrom((TypeElement) field.getEnclosingElement(), commandPackage)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isAccessibleFrom(TypeElement typeElement, PackageElement packageElement) {
+        Element currentElement = typeElement;
+        while (currentElement instanceof TypeElement) {
+            Set<Modifier> modifiers = currentElement.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC)
+                    && !packageElement.equals(elementUtils.getPackageOf(currentElement))) {
+                return false;
+            }
+            currentElement = currentElement.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private String getAssignableTypeName(VariableElement field) {
+        TypeMirror fieldType = typeUtils.erasure(field.asType());
+        if (fieldType.getKind().isPrimitive()) {
+            return typeUtils.boxedClass(typeUtils.getPrimitiveType(fieldType.getKind()))
+                    .getQualifiedName().toString();
+        }
+        return fieldType.toString();
+    }
+
+    private Set<String> writeCommandIndex() {
+        if (commandClassNames.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        // merge the entries of a previous (e.g. incremental) compilation, as long as the class still exists
+        Set<String> indexEntries = new TreeSet<>(commandClassNames);
+        for (String previousEntry : readPreviousCommandIndex()) {
+            if (elementUtils.getTypeElement(previousEntry.replace('$', '.')) != null) {
+                indexEntries.add(previousEntry);
+            }
+        }
+
+        try {
+            FileObject indexFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,
+                    "", COMMAND_INDEX_LOCATION, originatingElements.toArray(new Element[0]));
+
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(indexFile.openOutputStream(), StandardCharsets.UTF_8))) {
+                for (String indexEntry : indexEntries) {
+                    writer.write(indexEntry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to write command index " + COMMAND_INDEX_LOCATION + ": " + e);
+        }
+        return indexEntries;
+    }
+
+    private void writeReflectConfig(Set<String> indexEntries) {
+        if (indexEntries.isEmpty()) {
+            return;
+        }
+
+        // commands are instantiated, autowired (Spring) and injected reflectively; superclasses
+        // might declare parameter fields, while the generated binders are looked up by name
+        Set<String> commandTypes = new LinkedHashSet<>();
+        Set<String> superclassTypes = new LinkedHashSet<>();
+        Set<String> binderTypes = new LinkedHashSet<>();
+        for (String indexEntry : indexEntries) {
+            commandTypes.add(indexEntry);
+
+            TypeElement commandClass = elementUtils.getTypeElement(indexEntry.replace('$', '.'));
+            if (commandClass != null) {
+                collectSuperclasses(commandClass, superclassTypes);
+            }
+            if (elementUtils.getTypeElement(indexEntry + PARAMETER_BINDER_SUFFIX) != null) {
+                binderTypes.add(indexEntry + PARAMETER_BINDER_SUFFIX);
+            }
+        }
+        superclassTypes.removeAll(commandTypes);
+
+        StringBuilder json = new StringBuilder(1024).append("[");
+        for (String commandType : commandTypes) {
+            appendReflectConfigEntry(json, commandType,
+                    "allDeclaredConstructors", "allDeclaredFields", "allDeclaredMethods");
+        }
+        for (String superclassType : superclassTypes) {
+            appendReflectConfigEntry(json, superclassType, "allDeclaredFields", "allDeclaredMethods");
+        }
+        for (String binderType : binderTypes) {
+            appendReflectConfigEntry(json, binderType, "allDeclaredConstructors");
+        }
+        json.append("\n]\n");
+
+        String reflectConfigLocation = getReflectConfigLocation(commandTypes);
+        try {
+            FileObject configFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,
+                    "", reflectConfigLocation, originatingElements.toArray(new Element[0]));
+
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(configFile.openOutputStream(), StandardCharsets.UTF_8))) {
+                writer.write(json.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to write native-image configuration " + reflectConfigLocation + ": " + e);
+        }
+    }
+
+    private String getReflectConfigLocation(Set<String> commandTypes) {
+        String reflectConfigLocation = processingEnv.getOptions().get(REFLECT_CONFIG_LOCATION_OPTION);
+        if (reflectConfigLocation != null && !reflectConfigLocation.trim().isEmpty()) {
+            return reflectConfigLocation.trim();
+        }
+
+        String commonPackage = null;
+        for (String commandType : commandTypes) {
+            int lastDot = commandType.lastIndexOf('.');
+            String commandPackage = lastDot == -1 ? "" : commandType.substring(0, lastDot);
+
+            commonPackage = commonPackage == null ? commandPackage : getCommonPackage(commonPackage, commandPackage);
+        }
+
+        return REFLECT_CONFIG_DIRECTORY
+                + (commonPackage == null || commonPackage.isEmpty() ? DEFAULT_PACKAGE_DIRECTORY : commonPackage)
+                + "/" + REFLECT_CONFIG_FILE_NAME;
+    }
+
+    private static String getCommonPackage(String firstPackage, String secondPackage) {
+        String[] firstSegments = firstPackage.split("\\.");
+        String[] secondSegments = secondPackage.split("\\.");
+
+        StringBuilder commonPackage = new StringBuilder();
+        for (int i = 0; i < Math.min(firstSegments.length, secondSegments.length)
+                && firstSegments[i].equals(secondSegments[i]); i++) {
+            if (i > 0) {
+                commonPackage.append('.');
+            }
+            commonPackage.append(firstSegments[i]);
+        }
+        return commonPackage.toString();
+    }
+
+    private void collectSuperclasses(TypeElement typeElement, Set<String> superclassTypes) {
+        TypeMirror superclass = typeElement.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement superclassElement = (TypeElement) ((DeclaredType) superclass).asElement();
+            String superclassName = elementUtils.getBinaryName(superclassElement).toString();
+            if (superclassName.startsWith("java.")) {
+                break;
+            }
+            superclassTypes.add(superclassName);
+            superclass = superclassElement.getSuperclass();
+        }
+    }
+
+    private static void appendReflectConfigEntry(StringBuilder json, String typeName, String... flags) {
+        json.append(json.length() == 1 ? "\n" : ",\n")
+                .append("  {\n")
+                .append("    \"name\": \"").append(typeName).append('"');
+        for (String flag : flags) {
+            json.append(",\n    \"").append(flag).append("\": true");
+        }
+        json.append("\n  }");
+    }
+
+    private List<String> readPreviousCommandIndex() {
+        List<String> previousEntries = new ArrayList<>();
+        try {
+            FileObject indexFile = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT,
+                    "", COMMAND_INDEX_LOCATION);
+
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(indexFile.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String entry = line.trim();
+                    if (!entry.isEmpty() && !commandClassNames.contains(entry)) {
+                        previousEntries.add(entry);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous index (e.g. clean build)
+            return Collections.emptyList();
+        }
+        return previousEntries;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.util.Optional;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+public class CommandProcessorTest {
+
+    // stands in for org.commandmosaic.core.parameter.ParameterBinder, as core depends on the processor
+    private static final JavaFileObject PARAMETER_BINDER = JavaFileObjects.forSourceLines(
+            "org.commandmosaic.core.parameter.ParameterBinder",
+            "package org.commandmosaic.core.parameter;",
+            "public interface ParameterBinder<C> {",
+            "    Class<C> getCommandClass();",
+            "    java.util.List<String> getParameterNames();",
+            "    void bind(C target, int index, Object value);",
+            "}");
+
+    private static final JavaFileObject GREET_COMMAND = JavaFileObjects.forSourceLines(
+            "com.example.app.commands.GreetCommand",
+            "package com.example.app.commands;",
+            "import org.commandmosaic.api.Command;",
+            "import org.commandmosaic.api.CommandContext;",
+            "import org.commandmosaic.api.Parameter;",
+            "public class GreetCommand implements Command<String> {",
+            "    @Parameter String name;",
+            "    @Override public String execute(CommandContext context) { return \"Hello \" + name; }",
+            "}");
+
+    private static final JavaFileObject PRIVATE_FIELD_COMMAND = JavaFileObjects.forSourceLines(
+            "com.example.app.admin.PrivateFieldCommand",
+            "package com.example.app.admin;",
+            "import org.commandmosaic.api.Command;",
+            "import org.commandmosaic.api.CommandContext;",
+            "import org.commandmosaic.api.Parameter;",
+            "public class PrivateFieldCommand extends BaseCommand {",
+            "    @Parameter private String name;",
+            "    @Override public String execute(CommandContext context) { return name; }",
+            "}");
+
+    private static final JavaFileObject BASE_COMMAND = JavaFileObjects.forSourceLines(
+            "com.example.app.admin.BaseCommand",
+            "package com.example.app.admin;",
+            "import org.commandmosaic.api.Command;",
+            "public abstract class BaseCommand implements Command<String> {",
+            "}");
+
+    @Test
+    public void testCommandIndexAndReflectConfigAreGenerated() throws IOException {
+        Compilation compilation = javac()
+                .withProcessors(new CommandProcessor())
+                .compile(PARAMETER_BINDER, GREET_COMMAND, PRIVATE_FIELD_COMMAND, BASE_COMMAND);
+
+        assertThat(compilation).succeeded();
+
+        Assert.assertEquals("com.example.app.admin.PrivateFieldCommand\n"
+                        + "com.example.app.commands.GreetCommand\n",
+                getGeneratedResource(compilation, CommandProcessor.COMMAND_INDEX_LOCATION));
+
+        // the binder is only generated for the command with accessible parameter fields
+        Assert.assertTrue(compilation.generatedSourceFile(
+                "com.example.app.commands.GreetCommand" + CommandProcessor.PARAMETER_BINDER_SUFFIX).isPresent());
+        Assert.assertFalse(compilation.generatedSourceFile(
+                "com.example.app.admin.PrivateFieldCommand" + CommandProcessor.PARAMETER_BINDER_SUFFIX).isPresent());
+
+        Assert.assertEquals("[\n"
+                        + "  {\n"
+                        + "    \"name\": \"com.example.app.admin.PrivateFieldCommand\",\n"
+                        + "    \"allDeclaredConstructors\": true,\n"
+                        + "    \"allDeclaredFields\": true,\n"
+                        + "    \"allDeclaredMethods\": true\n"
+                        + "  },\n"
+                        + "  {\n"
+                        + "    \"name\": \"com.example.app.commands.GreetCommand\",\n"
+                        + "    \"allDeclaredConstructors\": true,\n"
+                        + "    \"allDeclaredFields\": true,\n"
+                        + "    \"allDeclaredMethods\": true\n"
+                        + "  },\n"
+                        + "  {\n"
+                        + "    \"name\": \"com.example.app.admin.BaseCommand\",\n"
+                        + "    \"allDeclaredFields\": true,\n"
+                        + "    \"allDeclaredMethods\": true\n"
+                        + "  },\n"
+                        + "  {\n"
+                        + "    \"name\": \"com.example.app.commands.GreetCommand_ParameterBinder\",\n"
+                        + "    \"allDeclaredConstructors\": true\n"
+                        + "  }\n"
+                        + "]\n",
+                getGeneratedResource(compilation,
+                        "META-INF/native-image/commandmosaic/com.example.app/reflect-config.json"));
+    }
+
+    @Test
+    public void testReflectConfigLocationOption() throws IOException {
+        String reflectConfigLocation = "META-INF/native-image/com.example/app/reflect-config.json";
+
+        Compilation compilation = javac()
+                .withProcessors(new CommandProcessor())
+                .withOptions("-A" + CommandProcessor.REFLECT_CONFIG_LOCATION_OPTION + "=" + reflectConfigLocation)
+                .compile(PARAMETER_BINDER, GREET_COMMAND);
+
+        assertThat(compilation).succeeded();
+
+        String reflectConfig = getGeneratedResource(compilation, reflectConfigLocation);
+        Assert.assertTrue(reflectConfig, reflectConfig.contains("\"name\": \"com.example.app.commands.GreetCommand\""));
+    }
+
+    private static String getGeneratedResource(Compilation compilation, String location) throws IOException {
+        Optional<JavaFileObject> generatedFile =
+                compilation.generatedFile(StandardLocation.CLASS_OUTPUT, "", location);
+
+        Assert.assertTrue("Not generated: " + location + ", generated files: " + compilation.generatedFiles(),
+                generatedFile.isPresent());
+
+        return generatedFile.get().getCharContent(true).toString();
+    }
+}
@@ -18,6 +18,7 @@
 package org.commandmosaic.security.jwt.spring.autoconfiguration;
 
 import org.commandmosaic.security.authenticator.Authenticator;
+import org.commandmosaic.security.authenticator.CoalescingAuthenticator;
 import org.commandmosaic.security.jwt.config.JwtSecurityConfiguration;
 import org.commandmosaic.security.jwt.core.DefaultTokenProvider;
 import org.commandmosaic.security.jwt.core.TokenProvider;
@@ -61,7 +62,8 @@ public class SecurityJwtSpringAutoConfiguration {
         log.info("Auto-configuring UserNamePasswordAuthenticator using UsernamePasswordAuthenticationService: {}",
                 usernamePasswordAuthenticationService);
 
-        return new UserNamePasswordAuthenticator(usernamePasswordAuthenticationService);
+        // the authenticator depends on the auth map only: identical concurrent logins can share the password check
+        return new CoalescingAuthenticator(new UserNamePasswordAuthenticator(usernamePasswordAuthenticationService));
     }
 
     @Bean
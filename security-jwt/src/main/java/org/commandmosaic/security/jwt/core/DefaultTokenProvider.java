@@ -16,9 +16,15 @@
 
 package org.commandmosaic.security.jwt.core;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Clock;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -27,9 +33,11 @@ import org.commandmosaic.security.core.SimpleIdentity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -43,6 +51,13 @@ import java.util.Set;
  * <p>
  * https://github.com/jhipster/jhipster-sample-app/blob/master/src/main/java/io/github/jhipster/sample/security/jwt/TokenProvider.java
  * </p>
+ *
+ * <p>
+ * The identities of verified tokens are cached (keyed by the SHA-256 hash of the token,
+ * so that the tokens themselves are not retained), which allows repeated requests with the
+ * same token to skip signature verification and claim parsing. The expiration of a token is
+ * checked on every cache hit as well: a cached token is never accepted after its expiration.
+ * </p>
  */
 public class DefaultTokenProvider implements TokenProvider {
 
@@ -51,26 +66,74 @@ public class DefaultTokenProvider implements TokenProvider {
     private static final String AUTHORITIES_KEY = "authorities";
     private static final String MULTI_VALUE_SEPARATOR = ",";
 
+    private static final long DEFAULT_VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
     private final Key key;
 
     private final long tokenValidityInMilliseconds;
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
+    private final Clock clock;
+
+    private final JwtParser jwtParser;
+
+    private final Cache<HashCode, VerifiedToken> verifiedTokens;
+
 
     public DefaultTokenProvider(byte[] keyBytes,
                                 long tokenValidityInSeconds,
                                 long tokenValidityInSecondsForRememberMe) {
+        this(keyBytes, tokenValidityInSeconds, tokenValidityInSecondsForRememberMe,
+                DEFAULT_VERIFIED_TOKEN_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new {@code DefaultTokenProvider}.
+     *
+     * @param keyBytes the HMAC key
+     * @param tokenValidityInSeconds the validity of the tokens created
+     * @param tokenValidityInSecondsForRememberMe the validity of the "remember me" tokens created
+     * @param verifiedTokenCacheSize the maximal number of verified tokens cached,
+     *                               {@code 0} disables caching
+     */
+    public DefaultTokenProvider(byte[] keyBytes,
+                                long tokenValidityInSeconds,
+                                long tokenValidityInSecondsForRememberMe,
+                                long verifiedTokenCacheSize) {
+        this(keyBytes, tokenValidityInSeconds, tokenValidityInSecondsForRememberMe,
+                verifiedTokenCacheSize, Date::new);
+    }
+
+    DefaultTokenProvider(byte[] keyBytes,
+                         long tokenValidityInSeconds,
+                         long tokenValidityInSecondsForRememberMe,
+                         long verifiedTokenCacheSize,
+                         Clock clock) {
         if (tokenValidityInSeconds <= 0) {
             throw new IllegalArgumentException("tokenValidityInSeconds must be a positive number");
         }
         if (tokenValidityInSecondsForRememberMe <= 0) {
             throw new IllegalArgumentException("tokenValidityInSecondsForRememberMe must be a positive number");
         }
+        if (verifiedTokenCacheSize < 0) {
+            throw new IllegalArgumentException("verifiedTokenCacheSize cannot be negative");
+        }
 
         this.key = Keys.hmacShaKeyFor(keyBytes);
         this.tokenValidityInMilliseconds = 1000 * tokenValidityInSeconds;
         this.tokenValidityInMillisecondsForRememberMe = 1000 * tokenValidityInSecondsForRememberMe;
+        this.clock = Objects.requireNonNull(clock, "argument clock cannot be null");
+
+        // JwtParser instances are immutable and Thread-safe
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setClock(clock)
+                .build();
+
+        this.verifiedTokens = CacheBuilder.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .build();
     }
 
 
@@ -78,7 +141,7 @@ public class DefaultTokenProvider implements TokenProvider {
     public String createToken(Identity authentication, boolean rememberMe) {
         String authorities = String.join(MULTI_VALUE_SEPARATOR, authentication.getAuthorities());
 
-        long now = new Date().getTime();
+        long now = clock.now().getTime();
         Date validity;
         if (rememberMe) {
             validity = new Date(now + this.tokenValidityInMillisecondsForRememberMe);
@@ -101,11 +164,23 @@ public class DefaultTokenProvider implements TokenProvider {
             return Optional.empty();
         }
 
+        HashCode tokenHash = Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenHash);
+        if (verifiedToken != null) {
+            if (clock.now().getTime() < verifiedToken.expirationTime) {
+                return Optional.of(verifiedToken.identity);
+            }
+
+            log.info("Expired JWT token.");
+            verifiedTokens.invalidate(tokenHash);
+
+            return Optional.empty();
+        }
+
         Claims claims;
         try {
-            claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
+            claims = jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (JwtException | IllegalArgumentException e) {
@@ -120,6 +195,25 @@ public class DefaultTokenProvider implements TokenProvider {
         Set<String> authoritiesSet = Arrays.stream(authoritiesMultiValueString.split(MULTI_VALUE_SEPARATOR))
                 .collect(ImmutableSet.toImmutableSet());
 
-        return Optional.of(new SimpleIdentity(claims.getSubject(), authoritiesSet));
+        Identity identity = new SimpleIdentity(claims.getSubject(), authoritiesSet);
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            // tokens without expiration are always verified: they are never created by us
+            verifiedTokens.put(tokenHash, new VerifiedToken(identity, expiration.getTime()));
+        }
+
+        return Optional.of(identity);
+    }
+
+    private static final class VerifiedToken {
+
+        private final Identity identity;
+        private final long expirationTime;
+
+        private VerifiedToken(Identity identity, long expirationTime) {
+            this.identity = identity;
+            this.expirationTime = expirationTime;
+        }
     }
 }
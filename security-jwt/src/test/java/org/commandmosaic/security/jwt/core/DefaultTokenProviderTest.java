@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.security.jwt.core;
+
+import com.google.common.collect.ImmutableSet;
+import org.commandmosaic.security.core.Identity;
+import org.commandmosaic.security.core.SimpleIdentity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DefaultTokenProviderTest {
+
+    private static final byte[] KEY = ("0123456789012345678901234567890123456789012345678901234567890123")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicLong currentTime = new AtomicLong(1_600_000_000_000L);
+
+    private final DefaultTokenProvider tokenProvider =
+            new DefaultTokenProvider(KEY, 60, 3600, 100, () -> new Date(currentTime.get()));
+
+    @Test
+    public void testCachedTokenIsAccepted() {
+        Identity identity = new SimpleIdentity("foo", ImmutableSet.of("USER", "ADMIN"));
+        String token = tokenProvider.createToken(identity, false);
+
+        Optional<Identity> first = tokenProvider.getCallerIdentity(token);
+        Optional<Identity> second = tokenProvider.getCallerIdentity(token);
+
+        Assert.assertTrue(first.isPresent());
+        Assert.assertEquals("foo", first.get().getName());
+        Assert.assertEquals(ImmutableSet.of("USER", "ADMIN"), first.get().getAuthorities());
+        Assert.assertSame(first.get(), second.get());
+    }
+
+    @Test
+    public void testCachedTokenIsRejectedOnceExpired() {
+        String token = tokenProvider.createToken(new SimpleIdentity("foo", ImmutableSet.of("USER")), false);
+
+        Assert.assertTrue(tokenProvider.getCallerIdentity(token).isPresent());
+
+        currentTime.addAndGet(61_000);
+
+        Assert.assertFalse(tokenProvider.getCallerIdentity(token).isPresent());
+        Assert.assertFalse(tokenProvider.getCallerIdentity(token).isPresent());
+    }
+
+    @Test
+    public void testTamperedTokenIsRejected() {
+        String token = tokenProvider.createToken(new SimpleIdentity("foo", ImmutableSet.of("USER")), false);
+        Assert.assertTrue(tokenProvider.getCallerIdentity(token).isPresent());
+
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        Assert.assertFalse(tokenProvider.getCallerIdentity(tampered).isPresent());
+    }
+}
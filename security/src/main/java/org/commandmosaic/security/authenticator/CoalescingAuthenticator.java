@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.security.authenticator;
+
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.security.AuthenticationException;
+import org.commandmosaic.security.core.Identity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * An {@link Authenticator} decorator, which lets concurrent authentications carrying
+ * an identical {@code auth} map share a single in-flight authentication: the first caller
+ * performs the authentication with the decorated {@code Authenticator}, while the others
+ * wait for, and receive the very same outcome: either the {@code Identity}, or a failure caused
+ * by the exception of the authentication (each waiting caller receives an exception of its own).
+ * This prevents bursts of identical requests (e.g. those sent by a client application when
+ * it starts up) from performing the same expensive password or token check in parallel.
+ * </p>
+ *
+ * <p>
+ * Nothing is retained once the in-flight authentication completes: subsequent requests
+ * are authenticated again. The decorated {@code Authenticator} must only depend on the
+ * {@link CommandContext#getAuth() auth} map of the context, since the outcome is shared
+ * between contexts having equal {@code auth} maps.
+ * </p>
+ */
+public class CoalescingAuthenticator implements Authenticator {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingAuthenticator.class);
+
+    private final Authenticator authenticator;
+
+    // package-private: the tests observe the callers waiting for an in-flight authentication
+    final ConcurrentHashMap<Map<String, Object>, CompletableFuture<Identity>> inFlightAuthentications =
+            new ConcurrentHashMap<>();
+
+    public CoalescingAuthenticator(Authenticator authenticator) {
+        this.authenticator = Objects.requireNonNull(authenticator, "argument authenticator cannot be null");
+    }
+
+    @Override
+    public Identity authenticate(CommandContext commandContext) throws AuthenticationException {
+        Map<String, Object> auth = commandContext.getAuth();
+        if (auth == null || auth.isEmpty()) {
+            return authenticator.authenticate(commandContext);
+        }
+
+        // snapshot, so that later modifications of the map cannot corrupt the key
+        Map<String, Object> key = new HashMap<>(auth);
+
+        CompletableFuture<Identity> authentication = new CompletableFuture<>();
+        CompletableFuture<Identity> inFlightAuthentication =
+                inFlightAuthentications.putIfAbsent(key, authentication);
+
+        if (inFlightAuthentication != null) {
+            log.trace("Joining in-flight authentication");
+            return await(inFlightAuthentication);
+        }
+
+        try {
+            Identity identity = authenticator.authenticate(commandContext);
+            authentication.complete(identity);
+            return identity;
+
+        } catch (RuntimeException | Error e) {
+            authentication.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            inFlightAuthentications.remove(key, authentication);
+        }
+    }
+
+    private static Identity await(CompletableFuture<Identity> inFlightAuthentication) {
+        try {
+            return inFlightAuthentication.join();
+        } catch (CompletionException e) {
+            // the exception of the authentication is shared by all waiting callers: each of them
+            // receives a new exception instead, so that they cannot tamper with each other's
+            // exception (e.g. by adding suppressed exceptions to it)
+            Throwable cause = e.getCause();
+            if (cause instanceof AuthenticationException) {
+                throw new AuthenticationException(cause.getMessage(), cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw new IllegalStateException("In-flight authentication failed: " + cause, cause);
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CoalescingAuthenticator{" + authenticator + "}";
+    }
+}
@@ -27,11 +27,11 @@ import org.commandmosaic.api.executor.ParameterSource;
 import org.commandmosaic.security.AccessDeniedException;
 import org.commandmosaic.security.annotation.Access;
 import org.commandmosaic.security.authorizer.Authorizer;
+import org.commandmosaic.security.core.AuthoritySet;
 import org.commandmosaic.security.core.Identity;
 
 import java.lang.annotation.Annotation;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 public class DefaultAuthorizerFactory extends AuthorizerFactory {
@@ -81,12 +81,14 @@ public class DefaultAuthorizerFactory extends AuthorizerFactory {
 
     private static class RequiresAnyOfTheAuthoritiesAuthorizer implements Authorizer {
 
-        // ImmutableSet is thread-safe
+        // ImmutableSet and AuthoritySet are thread-safe
         private final ImmutableSet<String> requiredAuthorities;
+        private final AuthoritySet requiredAuthoritySet;
 
         private RequiresAnyOfTheAuthoritiesAuthorizer(ImmutableSet<String> requiredAuthorities) {
             Objects.requireNonNull(requiredAuthorities, "argument requiredAuthorities cannot be null");
             this.requiredAuthorities = requiredAuthorities;
+            this.requiredAuthoritySet = AuthoritySet.ofRequired(requiredAuthorities);
         }
 
         @Override
@@ -104,9 +106,9 @@ public class DefaultAuthorizerFactory extends AuthorizerFactory {
                 throw new AccessDeniedException("Authentication is required to access: " + commandClass.getName());
             }
 
-            final Set<String> presentAuthorities = identity.getAuthorities();
-            if (presentAuthorities == null
-                    || presentAuthorities.stream().noneMatch(requiredAuthorities::contains)) {
+            // the required authorities are registered when this authorizer is created, hence
+            // they are always present in the (current) AuthoritySet of the identity
+            if (!AuthoritySet.of(identity).intersects(requiredAuthoritySet)) {
 
                 // None of the required authorities is present for the given user
                 throw new AccessDeniedException("Access Denied: " + commandClass.getName());
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.security.core;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Interns the names of the authorities required by commands to small integer ids,
+ * so that authority sets can be represented as bitsets (see {@link AuthoritySet}).
+ * </p>
+ *
+ * <p>
+ * Only authorities <i>required</i> by commands are registered: the authorities of an
+ * identity, which no command requires, are irrelevant to authorization and are simply
+ * not represented in its {@code AuthoritySet}. As a result, the size of the registry is
+ * bounded by the authorities declared in the code, irrespective of the identities seen.
+ * </p>
+ */
+public final class AuthorityRegistry {
+
+    private static final Map<String, Integer> authorityIds = new ConcurrentHashMap<>();
+
+    // written after the id is published in authorityIds: readers seeing a count
+    // are guaranteed to see every authority registered with a smaller id
+    private static volatile int registeredCount;
+
+    private AuthorityRegistry() {
+        // no external instances
+    }
+
+    /**
+     * Registers the authority specified, if it is not registered yet.
+     *
+     * @param authority the name of the authority
+     * @return the id of the authority
+     */
+    public static int register(String authority) {
+        Objects.requireNonNull(authority, "argument authority cannot be null");
+
+        Integer id = authorityIds.get(authority);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (AuthorityRegistry.class) {
+            id = authorityIds.get(authority);
+            if (id == null) {
+                id = registeredCount;
+                authorityIds.put(authority, id);
+                registeredCount = id + 1;
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the id of the authority specified.
+     *
+     * @param authority the name of the authority
+     * @return the id of the authority or {@code -1}, if it is not registered
+     */
+    public static int getId(String authority) {
+        Integer id = authority != null ? authorityIds.get(authority) : null;
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Returns the number of authorities registered so far.
+     *
+     * @return the number of authorities registered
+     */
+    public static int getRegisteredCount() {
+        return registeredCount;
+    }
+}
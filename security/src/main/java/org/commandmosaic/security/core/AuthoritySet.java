@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.security.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * <p>
+ * An immutable set of authorities, represented as a bitset of the ids assigned
+ * by the {@link AuthorityRegistry}: checking whether two sets intersect is an
+ * {@code AND} over a couple of {@code long} words, without allocation or hashing.
+ * </p>
+ *
+ * <p>
+ * An {@code AuthoritySet} built from the authorities of an identity only contains the
+ * authorities registered at the time it was built; {@link #isCurrent()} tells whether
+ * further authorities have been registered since then.
+ * </p>
+ */
+public final class AuthoritySet {
+
+    private static final long[] NO_WORDS = new long[0];
+
+    private final long[] words;
+    private final int registeredCount;
+
+    private AuthoritySet(long[] words, int registeredCount) {
+        this.words = words;
+        this.registeredCount = registeredCount;
+    }
+
+    /**
+     * Creates an {@code AuthoritySet} of the authorities required by a command:
+     * the authorities are registered in the {@code AuthorityRegistry}.
+     *
+     * @param authorities the names of the required authorities
+     * @return the {@code AuthoritySet} of the authorities
+     */
+    public static AuthoritySet ofRequired(Collection<String> authorities) {
+        long[] words = NO_WORDS;
+        for (String authority : authorities) {
+            words = set(words, AuthorityRegistry.register(authority));
+        }
+        return new AuthoritySet(words, AuthorityRegistry.getRegisteredCount());
+    }
+
+    /**
+     * Creates an {@code AuthoritySet} of the authorities present: authorities not
+     * registered in the {@code AuthorityRegistry} (i.e. not required by any command) are ignored.
+     *
+     * @param authorities the names of the authorities present (might be {@code null})
+     * @return the {@code AuthoritySet} of the authorities
+     */
+    public static AuthoritySet ofPresent(Collection<String> authorities) {
+        // read the count first: every authority with a smaller id is visible afterwards
+        int registeredCount = AuthorityRegistry.getRegisteredCount();
+
+        long[] words = NO_WORDS;
+        if (authorities != null) {
+            for (String authority : authorities) {
+                int id = AuthorityRegistry.getId(authority);
+                if (id >= 0) {
+                    words = set(words, id);
+                }
+            }
+        }
+        return new AuthoritySet(words, registeredCount);
+    }
+
+    /**
+     * Returns the {@code AuthoritySet} of the authorities of the identity specified.
+     * For a {@link SimpleIdentity}, the set is only built once (as long as no further
+     * authorities are registered).
+     *
+     * @param identity the identity
+     * @return the {@code AuthoritySet} of the authorities of the identity
+     */
+    public static AuthoritySet of(Identity identity) {
+        if (identity instanceof SimpleIdentity) {
+            return ((SimpleIdentity) identity).getAuthoritySet();
+        }
+        return ofPresent(identity.getAuthorities());
+    }
+
+    /**
+     * Returns whether this set contains any of the authorities of the other set.
+     *
+     * @param other the other set
+     * @return {@code true} if the sets intersect
+     */
+    public boolean intersects(AuthoritySet other) {
+        long[] otherWords = other.words;
+        int length = Math.min(words.length, otherWords.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & otherWords[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether no authorities have been registered since this set was built.
+     *
+     * @return {@code true} if this set reflects all registered authorities
+     */
+    public boolean isCurrent() {
+        return registeredCount == AuthorityRegistry.getRegisteredCount();
+    }
+
+    private static long[] set(long[] words, int id) {
+        int wordIndex = id >>> 6;
+        long[] result = wordIndex < words.length ? words : Arrays.copyOf(words, wordIndex + 1);
+        result[wordIndex] |= 1L << id;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("AuthoritySet{");
+        sb.append("ids=[");
+        boolean first = true;
+        for (int i = 0; i < words.length * Long.SIZE; i++) {
+            if ((words[i >>> 6] & (1L << i)) != 0) {
+                sb.append(first ? "" : ", ").append(i);
+                first = false;
+            }
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+}
@@ -26,6 +26,9 @@ public final class SimpleIdentity implements Identity {
     private final String name;
     private final Set<String> authorities;
 
+    // derived from authorities: built lazily and re-built, if further authorities are registered
+    private transient volatile AuthoritySet authoritySet;
+
     public SimpleIdentity(String name, Set<String> authorities) {
         this.name = name;
         this.authorities = authorities;
@@ -41,6 +44,15 @@ public final class SimpleIdentity implements Identity {
         return authorities;
     }
 
+    AuthoritySet getAuthoritySet() {
+        AuthoritySet currentAuthoritySet = authoritySet;
+        if (currentAuthoritySet == null || !currentAuthoritySet.isCurrent()) {
+            currentAuthoritySet = AuthoritySet.ofPresent(authorities);
+            authoritySet = currentAuthoritySet;
+        }
+        return currentAuthoritySet;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
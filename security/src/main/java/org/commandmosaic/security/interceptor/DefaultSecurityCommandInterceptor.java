@@ -17,14 +17,12 @@
 
 package org.commandmosaic.security.interceptor;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.commandmosaic.api.Command;
 import org.commandmosaic.api.CommandContext;
 import org.commandmosaic.api.executor.CommandExecutor;
 import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.core.interceptor.PreparableCommandInterceptor;
+import org.commandmosaic.core.server.context.AuthenticationScope;
 import org.commandmosaic.security.AccessDeniedException;
 import org.commandmosaic.security.authenticator.Authenticator;
 import org.commandmosaic.security.authenticator.AuthenticatorChain;
@@ -32,27 +30,39 @@ import org.commandmosaic.security.authorizer.Authorizer;
 import org.commandmosaic.security.authorizer.factory.AuthorizerFactory;
 import org.commandmosaic.security.core.Identity;
 
-import javax.annotation.Nonnull;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
 
+/**
+ * <p>
+ * The default {@link SecurityCommandInterceptor}: authenticates the caller with the
+ * {@link Authenticator}(s) specified and checks access with the {@link Authorizer}
+ * resolved from the access annotations of the command.
+ * </p>
+ *
+ * <p>
+ * The {@code Authorizer} of each command class is resolved only once and is retained as long
+ * as the class itself. When the dispatcher prepares its commands, the access annotations of
+ * every command are resolved and validated upfront, so that misconfigured commands are
+ * reported at startup, instead of on their first dispatch.
+ * </p>
+ */
 @SuppressWarnings("unused") // API class
-public class DefaultSecurityCommandInterceptor implements SecurityCommandInterceptor {
+public class DefaultSecurityCommandInterceptor implements SecurityCommandInterceptor, PreparableCommandInterceptor {
 
     private final Authenticator authenticator;
     private final AuthorizerFactory authorizerFactory;
 
-    // CPD-OFF
-    private final LoadingCache<Class<? extends Command<?>>, Authorizer> authorizerCache = CacheBuilder.newBuilder()
-            .softValues().build(new CacheLoader<Class<? extends Command<?>>, Authorizer>() {
-                @Override
-                public Authorizer load(@Nonnull Class<? extends Command<?>> clazz) {
-                    return getAuthorizer(clazz);
-                }
-            });
-    // CPD-OFF
+    private final ClassValue<Authorizer> authorizers = new ClassValue<Authorizer>() {
+        @Override
+        protected Authorizer computeValue(Class<?> type) {
+            @SuppressWarnings("unchecked") // only called with command classes
+            Class<? extends Command<?>> commandClass = (Class<? extends Command<?>>) type;
+
+            return authorizerFactory.getAuthorizer(commandClass);
+        }
+    };
 
     protected DefaultSecurityCommandInterceptor(Authenticator firstAuthenticator,
                                                 Authenticator... additionalAuthenticators) {
@@ -87,43 +97,54 @@ public class DefaultSecurityCommandInterceptor implements SecurityCommandInterce
         return authenticator;
     }
 
-    private Authorizer getAuthorizer(Class<? extends Command<?>> commandClass) {
-        return this.authorizerFactory.getAuthorizer(commandClass);
+    /**
+     * Resolves and validates the access annotations of the command class specified.
+     *
+     * @param commandClass the command class to prepare the interception of
+     *
+     * @throws IllegalStateException if the access annotations of the command are invalid
+     */
+    @Override
+    public void prepare(Class<? extends Command<?>> commandClass) {
+        authorizers.get(commandClass);
     }
 
+    /**
+     * Returns {@code false} for commands not requiring authentication (i.e. public commands),
+     * so that their dispatch bypasses this interceptor completely. If the access metadata of
+     * the command cannot be resolved, {@code true} is returned, so that the failure is
+     * reported when the command is dispatched.
+     *
+     * @param commandClass the class of the command (never {@code null})
+     *
+     * @return {@code false} if the command is public, {@code true} otherwise
+     */
     @Override
-    public final <R, C extends Command<R>> R intercept(Class<C> commandClass, ParameterSource parameters,
-                                                       CommandContext context, CommandExecutor next) {
-
+    public boolean appliesTo(Class<? extends Command<?>> commandClass) {
         try {
-            final Authorizer authorizer = authorizerCache.get(commandClass);
-
-            if(authorizer.isAuthenticationRequired()) {
-
-                Identity identity = this.authenticator.authenticate(context);
-                if (identity == null) {
-                    throw new AccessDeniedException("Access Denied: authentication required");
-                }
+            return authorizers.get(commandClass).isAuthenticationRequired();
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
 
-                authorizer.checkAuthorization(commandClass, identity, parameters, context);
+    @Override
+    public final <R, C extends Command<R>> R intercept(Class<C> commandClass, ParameterSource parameters,
+                                                       CommandContext context, CommandExecutor next) {
 
+        final Authorizer authorizer = authorizers.get(commandClass);
 
+        if(authorizer.isAuthenticationRequired()) {
 
-                context = new SecurityAwareCommandContext(context, identity);
+            // the entries of a batch request are authenticated only once
+            Identity identity = AuthenticationScope.authenticate(context, this, authenticator::authenticate);
+            if (identity == null) {
+                throw new AccessDeniedException("Access Denied: authentication required");
             }
 
-        } catch (ExecutionException | UncheckedExecutionException e) {
-            Throwable cause = e.getCause();
-
-            if (cause instanceof RuntimeException) {
-                throw (RuntimeException) cause;
+            authorizer.checkAuthorization(commandClass, identity, parameters, context);
 
-            } else if (cause instanceof Error) {
-                throw (Error) cause;
-
-            } else {
-                throw new IllegalStateException(cause.getMessage(), cause);
-            }
+            context = new SecurityAwareCommandContext(context, identity);
         }
 
         return next.execute(commandClass, parameters, context);
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.security.login.authentication;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.commandmosaic.security.AuthenticationException;
+import org.commandmosaic.security.core.Identity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A {@link UsernamePasswordAuthenticationService} decorator, which caches the {@link Identity}
+ * of successful authentications for a limited time, so that clients sending the same credentials
+ * with each request do not pay for the user lookup and the (deliberately slow) password hashing
+ * every time.
+ * </p>
+ *
+ * <p>
+ * The cache is keyed by an HMAC of the user name and password, computed with a random key
+ * generated for each instance: neither the credentials, nor an unsalted digest of them is
+ * retained. Failed authentications are never cached: every cache miss is passed to the
+ * decorated service, so its timing-attack protections remain in place.
+ * </p>
+ *
+ * <p>
+ * Changes of a user (e.g. password change, revoked authorities) become effective after
+ * {@code timeToLive} elapses, unless {@link #invalidate(String)} is called for the user.
+ * Cached authentications are tagged with the name of the {@link Identity} returned by the
+ * decorated service (e.g. the canonical name of the user, regardless of the case the client
+ * sent it in), which is what {@code invalidate} expects. Authentications in flight while an
+ * invalidation happens are not cached.
+ * </p>
+ */
+public class CachingUsernamePasswordAuthenticationService implements UsernamePasswordAuthenticationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingUsernamePasswordAuthenticationService.class);
+
+    private static final int HMAC_KEY_LENGTH = 32;
+
+    private final UsernamePasswordAuthenticationService authenticationService;
+
+    private final HashFunction credentialsHashFunction;
+
+    private final Cache<HashCode, CachedAuthentication> authenticationCache;
+
+    /**
+     * Incremented by each invalidation, so that an authentication in flight while an invalidation
+     * happens does not leave its (potentially stale) result in the cache.
+     */
+    private final AtomicLong invalidationGeneration = new AtomicLong();
+
+    public CachingUsernamePasswordAuthenticationService(UsernamePasswordAuthenticationService authenticationService,
+                                                        Duration timeToLive,
+                                                        long maximumSize) {
+
+        this.authenticationService = Objects.requireNonNull(authenticationService,
+                "argument authenticationService cannot be null");
+        Objects.requireNonNull(timeToLive, "argument timeToLive cannot be null");
+
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive: " + timeToLive);
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+
+        byte[] hmacKey = new byte[HMAC_KEY_LENGTH];
+        new SecureRandom().nextBytes(hmacKey);
+        this.credentialsHashFunction = Hashing.hmacSha256(hmacKey);
+
+        this.authenticationCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeToLive.toNanos(), TimeUnit.NANOSECONDS)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public Identity authenticateUser(String user, String password) throws AuthenticationException {
+        if (user == null || password == null) {
+            return authenticationService.authenticateUser(user, password);
+        }
+
+        HashCode credentialsHash = credentialsHashFunction.newHasher()
+                .putString(user, StandardCharsets.UTF_8)
+                .putByte((byte) 0)
+                .putString(password, StandardCharsets.UTF_8)
+                .hash();
+
+        CachedAuthentication cachedAuthentication = authenticationCache.getIfPresent(credentialsHash);
+        if (cachedAuthentication != null) {
+            log.trace("User '{}' is authenticated from cache", user);
+            return cachedAuthentication.identity;
+        }
+
+        long generation = invalidationGeneration.get();
+
+        // throws AuthenticationException for invalid credentials: failures are not cached
+        Identity identity = authenticationService.authenticateUser(user, password);
+        if (identity != null) {
+            CachedAuthentication authentication = new CachedAuthentication(identity.getName(), identity);
+            authenticationCache.put(credentialsHash, authentication);
+
+            // an invalidation either removes the entry put above, or bumps the generation before
+            // doing so: in the latter case, the result of this authentication might be stale
+            if (invalidationGeneration.get() != generation) {
+                authenticationCache.asMap().remove(credentialsHash, authentication);
+            }
+        }
+
+        return identity;
+    }
+
+    /**
+     * Removes the cached authentications of the user specified (e.g. when the password
+     * of the user is changed), so that the next request of the user is authenticated
+     * by the decorated service again.
+     *
+     * @param user the name of the user, as returned by {@link Identity#getName()} of the
+     *             identities authenticated by the decorated service (not necessarily the
+     *             user name sent by the client)
+     */
+    public void invalidate(String user) {
+        Objects.requireNonNull(user, "argument user cannot be null");
+
+        log.debug("Invalidating cached authentications of user '{}'", user);
+        invalidationGeneration.incrementAndGet();
+        authenticationCache.asMap().values().removeIf(cached -> user.equals(cached.user));
+    }
+
+    /**
+     * Removes all cached authentications.
+     */
+    public void invalidateAll() {
+        invalidationGeneration.incrementAndGet();
+        authenticationCache.invalidateAll();
+    }
+
+    private static final class CachedAuthentication {
+
+        private final String user;
+        private final Identity identity;
+
+        private CachedAuthentication(String user, Identity identity) {
+            this.user = user;
+            this.identity = identity;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.security.authenticator;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.commandmosaic.core.server.context.DefaultCommandContext;
+import org.commandmosaic.security.AuthenticationException;
+import org.commandmosaic.security.core.Identity;
+import org.commandmosaic.security.core.SimpleIdentity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CoalescingAuthenticatorTest {
+
+    private final AtomicInteger authenticationCount = new AtomicInteger();
+    private final CountDownLatch authenticationStarted = new CountDownLatch(1);
+    private final CountDownLatch authenticationReleased = new CountDownLatch(1);
+
+    private final CoalescingAuthenticator authenticator = new CoalescingAuthenticator(context -> {
+        authenticationCount.incrementAndGet();
+        authenticationStarted.countDown();
+        try {
+            authenticationReleased.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        if (!"secret".equals(context.getAuth().get("password"))) {
+            throw new AuthenticationException("Invalid username or password");
+        }
+        return new SimpleIdentity((String) context.getAuth().get("user"), ImmutableSet.of("ROLE_USER"));
+    });
+
+    @Test
+    public void testConcurrentIdenticalAuthenticationsAreCoalesced() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Identity> first = executorService.submit(() -> authenticate("secret"));
+            Assert.assertTrue(authenticationStarted.await(10, TimeUnit.SECONDS));
+
+            Future<Identity> second = executorService.submit(() -> authenticate("secret"));
+            awaitInFlightAuthenticationJoined(second);
+            authenticationReleased.countDown();
+
+            Assert.assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            Assert.assertEquals(1, authenticationCount.get());
+
+            // nothing is retained once the authentication completes
+            authenticate("secret");
+            Assert.assertEquals(2, authenticationCount.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsPropagatedToAllWaitingCallers() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Identity> first = executorService.submit(() -> authenticate("wrong"));
+            Assert.assertTrue(authenticationStarted.await(10, TimeUnit.SECONDS));
+
+            Future<Identity> second = executorService.submit(() -> authenticate("wrong"));
+            awaitInFlightAuthenticationJoined(second);
+            authenticationReleased.countDown();
+
+            AuthenticationException firstFailure = assertAuthenticationFailed(first);
+            AuthenticationException secondFailure = assertAuthenticationFailed(second);
+            Assert.assertEquals(1, authenticationCount.get());
+
+            // each waiting caller receives an exception of its own, caused by the shared one
+            Assert.assertNotSame(firstFailure, secondFailure);
+            Assert.assertSame(firstFailure, secondFailure.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Identity authenticate(String password) {
+        // equal, but distinct map instances for each call
+        return authenticator.authenticate(
+                new DefaultCommandContext(new HashMap<>(ImmutableMap.of("user", "foo", "password", password))));
+    }
+
+    private void awaitInFlightAuthenticationJoined(Future<Identity> future) throws InterruptedException {
+        // a caller joining the in-flight authentication waits for its future, which counts it as a dependent
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!isInFlightAuthenticationJoined()) {
+            Assert.assertTrue("no caller joined the in-flight authentication", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+        Assert.assertFalse(future.isDone());
+    }
+
+    private boolean isInFlightAuthenticationJoined() {
+        return authenticator.inFlightAuthentications.values().stream()
+                .anyMatch(authentication -> authentication.getNumberOfDependents() > 0);
+    }
+
+    private static AuthenticationException assertAuthenticationFailed(Future<Identity> future) throws Exception {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            throw new AssertionError("AuthenticationException expected");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof AuthenticationException);
+            return (AuthenticationException) e.getCause();
+        }
+    }
+}
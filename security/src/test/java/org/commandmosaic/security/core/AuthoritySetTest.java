@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.security.core;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class AuthoritySetTest {
+
+    @Test
+    public void testIntersects() {
+        AuthoritySet required = AuthoritySet.ofRequired(ImmutableSet.of("AuthoritySetTest_A", "AuthoritySetTest_B"));
+
+        Assert.assertTrue(AuthoritySet.ofPresent(ImmutableSet.of("AuthoritySetTest_B", "unknown")).intersects(required));
+        Assert.assertFalse(AuthoritySet.ofPresent(ImmutableSet.of("unknown")).intersects(required));
+        Assert.assertFalse(AuthoritySet.ofPresent(null).intersects(required));
+    }
+
+    @Test
+    public void testIntersectsBeyondFirstWord() {
+        List<String> authorities = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            authorities.add("AuthoritySetTest_" + i);
+        }
+        AuthoritySet.ofRequired(authorities);
+        AuthoritySet required = AuthoritySet.ofRequired(Collections.singleton("AuthoritySetTest_129"));
+
+        Assert.assertTrue(AuthoritySet.ofPresent(authorities).intersects(required));
+        Assert.assertFalse(AuthoritySet.ofPresent(authorities.subList(0, 129)).intersects(required));
+    }
+
+    @Test
+    public void testSimpleIdentityAuthoritySetIsRebuiltOnRegistration() {
+        SimpleIdentity identity = new SimpleIdentity("foo", ImmutableSet.of("AuthoritySetTest_late"));
+
+        AuthoritySet before = AuthoritySet.of(identity);
+        Assert.assertSame(before, AuthoritySet.of(identity));
+
+        AuthoritySet required = AuthoritySet.ofRequired(Collections.singleton("AuthoritySetTest_late"));
+
+        Assert.assertFalse(before.intersects(required));
+        Assert.assertTrue(AuthoritySet.of(identity).intersects(required));
+    }
+}
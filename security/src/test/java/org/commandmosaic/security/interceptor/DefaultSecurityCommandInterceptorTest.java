@@ -22,6 +22,7 @@ import org.commandmosaic.api.CommandContext;
 import org.commandmosaic.api.executor.CommandExecutor;
 import org.commandmosaic.api.executor.ParameterSource;
 import org.commandmosaic.core.parameter.source.ParameterSources;
+import org.commandmosaic.core.server.context.AuthenticationScope;
 import org.commandmosaic.security.AccessDeniedException;
 import org.commandmosaic.security.AuthenticationException;
 import org.easymock.EasyMock;
@@ -32,6 +33,8 @@ import org.junit.Test;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.eq;
@@ -57,6 +60,10 @@ public class DefaultSecurityCommandInterceptorTest {
         mockCommandContext = EasyMock.createStrictMock("CommandContext", CommandContext.class);
         mockInterceptorChain = EasyMock.createStrictMock("InterceptorChain", CommandExecutor.class);
 
+        // no AuthenticationScope: the caller is authenticated for each command
+        EasyMock.expect(mockCommandContext.containsAttribute(AuthenticationScope.ATTRIBUTE_NAME))
+                .andStubReturn(false);
+
         parameterSource = ParameterSources.mapParameterSource(Collections.emptyMap());
     }
 
@@ -347,4 +354,63 @@ public class DefaultSecurityCommandInterceptorTest {
                 securityCommandInterceptor.intercept(NotAnnotatedCommand.class,
                         parameterSource, mockCommandContext, mockInterceptorChain));
     }
+
+    @Test
+    public void testInterceptorDoesNotApplyToPublicCommandsOnly() {
+
+        EasyMock.replay(mockCommandContext, mockInterceptorChain);
+
+        Assert.assertFalse(securityCommandInterceptor.appliesTo(PublicCommand.class));
+        Assert.assertTrue(securityCommandInterceptor.appliesTo(AuthenticationOnlyCommand.class));
+        Assert.assertTrue(securityCommandInterceptor.appliesTo(UserCommand.class));
+        Assert.assertTrue(securityCommandInterceptor.appliesTo(MisconfiguredCommand.class));
+        Assert.assertTrue(securityCommandInterceptor.appliesTo(NotAnnotatedCommand.class));
+    }
+
+    @Test
+    public void testMisconfiguredCommandsAreReportedWhenPrepared() {
+
+        EasyMock.replay(mockCommandContext, mockInterceptorChain);
+
+        securityCommandInterceptor.prepare(PublicCommand.class);
+        securityCommandInterceptor.prepare(UserCommand.class);
+
+        Assert.assertThrows(IllegalStateException.class, () ->
+                securityCommandInterceptor.prepare(MisconfiguredCommand.class));
+        Assert.assertThrows(IllegalStateException.class, () ->
+                securityCommandInterceptor.prepare(NotAnnotatedCommand.class));
+    }
+
+    @Test
+    public void testCallerIsAuthenticatedOnceWithinAuthenticationScope() {
+
+        Map<String, Object> authMap = new HashMap<>();
+        authMap.put("username", "bar-user");
+        authMap.put("password", "bar-password");
+
+        AuthenticationScope authenticationScope = new AuthenticationScope(authMap);
+
+        CommandContext scopedCommandContext = EasyMock.createStrictMock("ScopedCommandContext", CommandContext.class);
+        for (int i = 0; i < 2; i++) {
+            EasyMock.expect(scopedCommandContext.containsAttribute(AuthenticationScope.ATTRIBUTE_NAME))
+                    .andReturn(true).once();
+            EasyMock.expect(scopedCommandContext.getAttribute(AuthenticationScope.ATTRIBUTE_NAME, Object.class))
+                    .andReturn(Optional.of(authenticationScope)).once();
+            EasyMock.expect(scopedCommandContext.getAuth()).andReturn(authMap).once();
+            if (i == 0) {
+                // only read by the authenticator of the first command
+                EasyMock.expect(scopedCommandContext.getAuth()).andReturn(authMap).once();
+            }
+            expectCommandIsExecuted(AuthenticationOnlyCommand.class);
+        }
+
+        EasyMock.replay(scopedCommandContext, mockCommandContext, mockInterceptorChain);
+
+        securityCommandInterceptor.intercept(AuthenticationOnlyCommand.class,
+                parameterSource, scopedCommandContext, mockInterceptorChain);
+        securityCommandInterceptor.intercept(AuthenticationOnlyCommand.class,
+                parameterSource, scopedCommandContext, mockInterceptorChain);
+
+        EasyMock.verify(scopedCommandContext);
+    }
 }
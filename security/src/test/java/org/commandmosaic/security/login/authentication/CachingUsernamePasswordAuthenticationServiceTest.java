@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.commandmosaic.security.login.authentication;
+
+import com.google.common.collect.ImmutableSet;
+import org.commandmosaic.security.AuthenticationException;
+import org.commandmosaic.security.core.Identity;
+import org.commandmosaic.security.core.SimpleIdentity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachingUsernamePasswordAuthenticationServiceTest {
+
+    private final AtomicInteger authenticationCount = new AtomicInteger();
+
+    private final CachingUsernamePasswordAuthenticationService authenticationService =
+            new CachingUsernamePasswordAuthenticationService((user, password) -> {
+                authenticationCount.incrementAndGet();
+                if (!"secret".equals(password)) {
+                    throw new AuthenticationException("Invalid username or password");
+                }
+                return new SimpleIdentity(user, ImmutableSet.of("ROLE_USER"));
+            }, Duration.ofMinutes(1), 100);
+
+    @Test
+    public void testSuccessfulAuthenticationIsCached() {
+        Identity first = authenticationService.authenticateUser("foo", "secret");
+        Identity second = authenticationService.authenticateUser("foo", "secret");
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, authenticationCount.get());
+
+        authenticationService.authenticateUser("bar", "secret");
+        Assert.assertEquals(2, authenticationCount.get());
+    }
+
+    @Test
+    public void testFailedAuthenticationIsNotCached() {
+        authenticationService.authenticateUser("foo", "secret");
+
+        Assert.assertThrows(AuthenticationException.class,
+                () -> authenticationService.authenticateUser("foo", "wrong"));
+        Assert.assertThrows(AuthenticationException.class,
+                () -> authenticationService.authenticateUser("foo", "wrong"));
+
+        Assert.assertEquals(3, authenticationCount.get());
+    }
+
+    @Test
+    public void testInvalidatedUserIsAuthenticatedAgain() {
+        authenticationService.authenticateUser("foo", "secret");
+        authenticationService.authenticateUser("bar", "secret");
+
+        authenticationService.invalidate("foo");
+
+        authenticationService.authenticateUser("foo", "secret");
+        authenticationService.authenticateUser("bar", "secret");
+
+        Assert.assertEquals(3, authenticationCount.get());
+    }
+
+    @Test
+    public void testAuthenticationIsInvalidatedByIdentityName() {
+        AtomicInteger caseInsensitiveAuthenticationCount = new AtomicInteger();
+
+        // the user name is looked up case-insensitively: the identity carries the canonical name
+        CachingUsernamePasswordAuthenticationService caseInsensitiveAuthenticationService =
+                new CachingUsernamePasswordAuthenticationService((user, password) -> {
+                    caseInsensitiveAuthenticationCount.incrementAndGet();
+                    return new SimpleIdentity(user.toLowerCase(Locale.ROOT), ImmutableSet.of("ROLE_USER"));
+                }, Duration.ofMinutes(1), 100);
+
+        caseInsensitiveAuthenticationService.authenticateUser("FOO", "secret");
+        caseInsensitiveAuthenticationService.invalidate("foo");
+        caseInsensitiveAuthenticationService.authenticateUser("FOO", "secret");
+
+        Assert.assertEquals(2, caseInsensitiveAuthenticationCount.get());
+    }
+
+    @Test
+    public void testAuthenticationInFlightDuringInvalidationIsNotCached() throws Exception {
+        CountDownLatch authenticationStarted = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        AtomicInteger slowAuthenticationCount = new AtomicInteger();
+
+        CachingUsernamePasswordAuthenticationService slowAuthenticationService =
+                new CachingUsernamePasswordAuthenticationService((user, password) -> {
+                    if (slowAuthenticationCount.incrementAndGet() == 1) {
+                        // the first authentication reads the user before it is invalidated
+                        authenticationStarted.countDown();
+                        awaitUninterruptibly(invalidated);
+                    }
+                    return new SimpleIdentity(user, ImmutableSet.of("ROLE_USER"));
+                }, Duration.ofMinutes(1), 100);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<Identity> inFlight =
+                    executorService.submit(() -> slowAuthenticationService.authenticateUser("foo", "secret"));
+
+            Assert.assertTrue(authenticationStarted.await(10, TimeUnit.SECONDS));
+            slowAuthenticationService.invalidate("foo");
+            invalidated.countDown();
+
+            Assert.assertNotNull(inFlight.get(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdown();
+        }
+
+        slowAuthenticationService.authenticateUser("foo", "secret");
+        Assert.assertEquals(2, slowAuthenticationCount.get());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.http.servlet.common;
+
+import org.commandmosaic.api.server.DispatchContext;
+import org.commandmosaic.api.server.DispatchRequest;
+import org.commandmosaic.api.server.DispatchResponse;
+import org.commandmosaic.core.buffer.BufferPool;
+import org.commandmosaic.core.buffer.PooledBuffer;
+import org.commandmosaic.core.server.DefaultDispatchContext;
+import org.commandmosaic.core.server.DefaultDispatchRequest;
+import org.commandmosaic.core.server.DefaultDispatchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * An {@code HttpServletTransport} using Servlet 3.1 asynchronous processing and non-blocking I/O:
+ * the request body is read via a {@code ReadListener} into a {@link PooledBuffer}, the command is
+ * dispatched on the {@code dispatchExecutor} and the response is written via a {@code WriteListener}.
+ * As a result, container threads are not blocked by slow clients, nor by the commands executed.
+ * </p>
+ *
+ * <p>
+ * The status code of failed requests is determined by the {@link DefaultHttpServletTransport}
+ * this transport is created for. Requests not supporting asynchronous processing (e.g. the Servlet
+ * is not declared as {@code async-supported}) are handled by that transport, using blocking I/O.
+ * </p>
+ *
+ * <p>
+ * Requests with a body larger than {@code maxRequestBodySize} are rejected with status code 413.
+ * Requests not completed within {@code asyncTimeout} milliseconds are completed with status code 503:
+ * the command dispatched is not interrupted, but its result is discarded. By default, requests
+ * do not time out, just like with blocking I/O.
+ * </p>
+ */
+public class AsyncHttpServletTransport implements HttpServletTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncHttpServletTransport.class);
+
+    /**
+     * The {@code asyncTimeout} value meaning that requests never time out.
+     */
+    public static final long NO_TIMEOUT = 0;
+
+    public static final int DEFAULT_MAX_REQUEST_BODY_SIZE = 10 * 1024 * 1024;
+
+    private static final int WRITE_CHUNK_SIZE = 8 * 1024;
+
+    private final DefaultHttpServletTransport httpServletTransport;
+    private final Executor dispatchExecutor;
+    private final BufferPool bufferPool;
+    private final long asyncTimeout;
+    private final int maxRequestBodySize;
+
+    public AsyncHttpServletTransport(DefaultHttpServletTransport httpServletTransport, Executor dispatchExecutor) {
+        this(httpServletTransport, dispatchExecutor, new BufferPool());
+    }
+
+    public AsyncHttpServletTransport(DefaultHttpServletTransport httpServletTransport,
+                                     Executor dispatchExecutor, BufferPool bufferPool) {
+        this(httpServletTransport, dispatchExecutor, bufferPool, NO_TIMEOUT, DEFAULT_MAX_REQUEST_BODY_SIZE);
+    }
+
+    /**
+     * Creates an {@code AsyncHttpServletTransport}.
+     *
+     * @param httpServletTransport the transport determining the status code of failed requests
+     * @param dispatchExecutor the {@code Executor} commands are dispatched on
+     * @param bufferPool the {@code BufferPool} request and response bodies are held in
+     * @param asyncTimeout the timeout of requests in milliseconds, or {@link #NO_TIMEOUT}
+     * @param maxRequestBodySize the maximal size of request bodies accepted, in bytes
+     */
+    public AsyncHttpServletTransport(DefaultHttpServletTransport httpServletTransport,
+                                     Executor dispatchExecutor, BufferPool bufferPool,
+                                     long asyncTimeout, int maxRequestBodySize) {
+        Objects.requireNonNull(httpServletTransport, "argument httpServletTransport cannot be null");
+        Objects.requireNonNull(dispatchExecutor, "argument dispatchExecutor cannot be null");
+        Objects.requireNonNull(bufferPool, "argument bufferPool cannot be null");
+        if (asyncTimeout < 0) {
+            throw new IllegalArgumentException("asyncTimeout cannot be negative: " + asyncTimeout);
+        }
+        if (maxRequestBodySize < 1) {
+            throw new IllegalArgumentException("maxRequestBodySize must be positive: " + maxRequestBodySize);
+        }
+
+        this.httpServletTransport = httpServletTransport;
+        this.dispatchExecutor = dispatchExecutor;
+        this.bufferPool = bufferPool;
+        this.asyncTimeout = asyncTimeout;
+        this.maxRequestBodySize = maxRequestBodySize;
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest httpServletRequest,
+                              HttpServletResponse httpServletResponse) throws ServletException, IOException {
+
+        if (!httpServletRequest.isAsyncSupported()) {
+            log.debug("Asynchronous processing is not supported, falling back to blocking I/O");
+            httpServletTransport.handleRequest(httpServletRequest, httpServletResponse);
+            return;
+        }
+
+        if (httpServletRequest.getContentLengthLong() > maxRequestBodySize) {
+            log.debug("Content length {} exceeds the maximal request body size of {} bytes",
+                    httpServletRequest.getContentLengthLong(), maxRequestBodySize);
+            httpServletResponse.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        AsyncContext asyncContext = httpServletRequest.startAsync(httpServletRequest, httpServletResponse);
+        asyncContext.setTimeout(asyncTimeout);
+
+        Exchange exchange = new Exchange(asyncContext, bufferPool.acquire());
+        asyncContext.addListener(exchange);
+
+        ServletInputStream inputStream = httpServletRequest.getInputStream();
+        inputStream.setReadListener(new RequestBodyReader(exchange, inputStream));
+    }
+
+    private void dispatch(Exchange exchange) {
+        // the exchange might be completed (e.g. timed out) by now: its response is only accessed once
+        // the response is known to be written, while the buffers are released by the dispatch
+        PooledBuffer requestBody = exchange.requestBody;
+        PooledBuffer responseBody = bufferPool.acquire();
+
+        try {
+            DispatchRequest request = new DefaultDispatchRequest(requestBody.toInputStream());
+            DispatchContext context = new DefaultDispatchContext();
+            DispatchResponse response = new DefaultDispatchResponse(responseBody);
+
+            // the status is only set once the response is known to be written: the request might time out before
+            AtomicReference<Throwable> reportedFailure = new AtomicReference<>();
+            context.addFailureListener(reportedFailure::set);
+
+            httpServletTransport.getCommandDispatcherServer()
+                    .serviceRequestAsync(request, response, context)
+                    .whenComplete((result, failure) -> {
+                        requestBody.release();
+
+                        if (failure == null && exchange.startWriting(responseBody)) {
+                            writeResponse(exchange, responseBody, reportedFailure.get());
+                        } else {
+                            responseBody.release();
+                            if (failure != null) {
+                                completeWithError(exchange, failure);
+                            }
+                        }
+                    });
+
+        } catch (RuntimeException e) {
+            requestBody.release();
+            responseBody.release();
+
+            completeWithError(exchange, e);
+        }
+    }
+
+    private void writeResponse(Exchange exchange, PooledBuffer responseBody, Throwable reportedFailure) {
+        try {
+            HttpServletResponse httpServletResponse = (HttpServletResponse) exchange.asyncContext.getResponse();
+            if (reportedFailure != null) {
+                httpServletTransport.onFailure(httpServletResponse, reportedFailure);
+            }
+            httpServletResponse.setContentLength(responseBody.size());
+
+            ServletOutputStream outputStream = httpServletResponse.getOutputStream();
+            outputStream.setWriteListener(new ResponseBodyWriter(exchange, outputStream, responseBody));
+
+        } catch (IOException | RuntimeException e) {
+            completeWithError(exchange, e);
+        }
+    }
+
+    private static void completeWithError(Exchange exchange, Throwable failure) {
+        log.error("Failed to service request", failure);
+
+        exchange.completeWithStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    private enum State {
+        READING, DISPATCHING, WRITING, COMPLETED
+    }
+
+    /**
+     * The processing of a single request: whichever party completes it first (the listeners
+     * reading and writing the bodies, or the container signalling a timeout or an error),
+     * completes the {@code AsyncContext} exactly once. The buffer held by the exchange when it
+     * is completed is only released in {@link #onComplete(AsyncEvent)}, once the container no
+     * longer calls the listeners reading or writing it: a timeout might be signalled while they
+     * are still using the buffer. While the command is being dispatched, its buffers are
+     * released by the dispatch, when it completes.
+     */
+    private final class Exchange implements AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final PooledBuffer requestBody;
+        private final AtomicReference<State> state = new AtomicReference<>(State.READING);
+
+        private volatile PooledBuffer responseBody;
+
+        // the state the exchange was completed in: determines the buffer to release
+        private volatile State completedState;
+
+        private Exchange(AsyncContext asyncContext, PooledBuffer requestBody) {
+            this.asyncContext = asyncContext;
+            this.requestBody = requestBody;
+        }
+
+        private boolean isCompleted() {
+            return state.get() == State.COMPLETED;
+        }
+
+        private boolean startDispatching() {
+            return state.compareAndSet(State.READING, State.DISPATCHING);
+        }
+
+        private boolean startWriting(PooledBuffer responseBody) {
+            this.responseBody = responseBody;
+            return state.compareAndSet(State.DISPATCHING, State.WRITING);
+        }
+
+        private void complete() {
+            if (finish()) {
+                asyncContext.complete();
+            }
+        }
+
+        private void completeWithStatus(int status) {
+            if (finish()) {
+                HttpServletResponse httpServletResponse = (HttpServletResponse) asyncContext.getResponse();
+                if (!httpServletResponse.isCommitted()) {
+                    httpServletResponse.setStatus(status);
+                }
+                asyncContext.complete();
+            }
+        }
+
+        private boolean finish() {
+            State previousState = state.getAndSet(State.COMPLETED);
+            if (previousState == State.COMPLETED) {
+                return false;
+            }
+
+            completedState = previousState;
+            return true;
+        }
+
+        private void releaseBuffer() {
+            if (completedState == State.READING) {
+                requestBody.release();
+            } else if (completedState == State.WRITING) {
+                responseBody.release();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // not re-started
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            log.warn("Request has not been completed within {} ms", asyncTimeout);
+
+            completeWithStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            completeWithError(this, event.getThrowable());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish();
+            releaseBuffer();
+        }
+    }
+
+    private final class RequestBodyReader implements ReadListener {
+
+        private final Exchange exchange;
+        private final ServletInputStream inputStream;
+
+        private RequestBodyReader(Exchange exchange, ServletInputStream inputStream) {
+            this.exchange = exchange;
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            PooledBuffer requestBody = exchange.requestBody;
+
+            while (!exchange.isCompleted() && inputStream.isReady() && !inputStream.isFinished()) {
+                if (requestBody.readFrom(inputStream) == -1) {
+                    return;
+                }
+
+                if (requestBody.size() > maxRequestBodySize) {
+                    log.debug("Request body exceeds the maximal size of {} bytes", maxRequestBodySize);
+                    exchange.completeWithStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            if (!exchange.startDispatching()) {
+                return;
+            }
+
+            try {
+                dispatchExecutor.execute(() -> dispatch(exchange));
+
+            } catch (RejectedExecutionException e) {
+                exchange.requestBody.release();
+
+                log.warn("Dispatch rejected by executor {}", dispatchExecutor, e);
+
+                exchange.completeWithStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completeWithError(exchange, throwable);
+        }
+    }
+
+    private static final class ResponseBodyWriter implements WriteListener {
+
+        private final Exchange exchange;
+        private final ServletOutputStream outputStream;
+        private final PooledBuffer responseBody;
+
+        private int offset;
+
+        private ResponseBodyWriter(Exchange exchange, ServletOutputStream outputStream,
+                                   PooledBuffer responseBody) {
+            this.exchange = exchange;
+            this.outputStream = outputStream;
+            this.responseBody = responseBody;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (!exchange.isCompleted() && outputStream.isReady()) {
+                if (offset == responseBody.size()) {
+                    exchange.complete();
+                    return;
+                }
+
+                offset += responseBody.writeTo(outputStream, offset, WRITE_CHUNK_SIZE);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.warn("Failed to write response", throwable);
+
+            exchange.complete();
+        }
+    }
+}
@@ -56,6 +56,10 @@ public class DefaultHttpServletTransport implements HttpServletTransport {
         }
     }
 
+    protected CommandDispatcherServer getCommandDispatcherServer() {
+        return commandDispatcherServer;
+    }
+
     protected void onFailure(HttpServletResponse httpServletResponse, Throwable failure) {
 
         if (failure instanceof InvalidRequestException
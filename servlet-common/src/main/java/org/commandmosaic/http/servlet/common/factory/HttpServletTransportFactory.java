@@ -17,11 +17,20 @@
 package org.commandmosaic.http.servlet.common.factory;
 
 import org.commandmosaic.api.server.CommandDispatcherServer;
+import org.commandmosaic.core.buffer.BufferPool;
 import org.commandmosaic.core.factory.support.ServiceLoaderSupport;
+import org.commandmosaic.http.servlet.common.AsyncHttpServletTransport;
+import org.commandmosaic.http.servlet.common.DefaultHttpServletTransport;
 import org.commandmosaic.http.servlet.common.HttpServletTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
 
 public abstract class HttpServletTransportFactory {
 
+    private static final Logger log = LoggerFactory.getLogger(HttpServletTransportFactory.class);
+
     private static final ServiceLoaderSupport<HttpServletTransportFactory> serviceLoaderSupport =
             new ServiceLoaderSupport<>(HttpServletTransportFactory.class);
 
@@ -31,4 +40,49 @@ public abstract class HttpServletTransportFactory {
 
     public abstract HttpServletTransport getHttpServletTransport(
             CommandDispatcherServer commandDispatcherServer);
+
+    /**
+     * Returns an {@code HttpServletTransport} processing requests asynchronously, with non-blocking I/O,
+     * dispatching commands on the {@code dispatchExecutor} specified. The default implementation wraps the
+     * transport returned by {@link #getHttpServletTransport(CommandDispatcherServer)} into an
+     * {@link AsyncHttpServletTransport}, if it is a {@link DefaultHttpServletTransport}; otherwise
+     * the transport is returned as-is.
+     *
+     * @param commandDispatcherServer the {@code CommandDispatcherServer} servicing the requests
+     * @param dispatchExecutor the {@code Executor} commands are dispatched on
+     *
+     * @return the {@code HttpServletTransport} (never {@code null})
+     */
+    public HttpServletTransport getAsyncHttpServletTransport(
+            CommandDispatcherServer commandDispatcherServer, Executor dispatchExecutor) {
+
+        return getAsyncHttpServletTransport(commandDispatcherServer, dispatchExecutor,
+                AsyncHttpServletTransport.NO_TIMEOUT, AsyncHttpServletTransport.DEFAULT_MAX_REQUEST_BODY_SIZE);
+    }
+
+    /**
+     * Returns an {@code HttpServletTransport} processing requests asynchronously, just like
+     * {@link #getAsyncHttpServletTransport(CommandDispatcherServer, Executor)}, with the timeout
+     * and the maximal request body size specified (see {@link AsyncHttpServletTransport}).
+     *
+     * @param commandDispatcherServer the {@code CommandDispatcherServer} servicing the requests
+     * @param dispatchExecutor the {@code Executor} commands are dispatched on
+     * @param asyncTimeout the timeout of requests in milliseconds, or {@link AsyncHttpServletTransport#NO_TIMEOUT}
+     * @param maxRequestBodySize the maximal size of request bodies accepted, in bytes
+     *
+     * @return the {@code HttpServletTransport} (never {@code null})
+     */
+    public HttpServletTransport getAsyncHttpServletTransport(
+            CommandDispatcherServer commandDispatcherServer, Executor dispatchExecutor,
+            long asyncTimeout, int maxRequestBodySize) {
+
+        HttpServletTransport httpServletTransport = getHttpServletTransport(commandDispatcherServer);
+        if (!(httpServletTransport instanceof DefaultHttpServletTransport)) {
+            log.warn("{} does not support asynchronous processing, using blocking I/O", httpServletTransport);
+            return httpServletTransport;
+        }
+
+        return new AsyncHttpServletTransport((DefaultHttpServletTransport) httpServletTransport,
+                dispatchExecutor, new BufferPool(), asyncTimeout, maxRequestBodySize);
+    }
 }
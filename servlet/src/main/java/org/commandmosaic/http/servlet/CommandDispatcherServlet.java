@@ -23,6 +23,7 @@ import org.commandmosaic.api.factory.CommandDispatcherFactory;
 import org.commandmosaic.api.interceptor.CommandInterceptor;
 import org.commandmosaic.api.server.CommandDispatcherServer;
 import org.commandmosaic.core.server.DefaultCommandDispatcherServer;
+import org.commandmosaic.http.servlet.common.AsyncHttpServletTransport;
 import org.commandmosaic.http.servlet.common.HttpServletTransport;
 import org.commandmosaic.http.servlet.common.factory.HttpServletTransportFactory;
 import org.commandmosaic.plain.PlainCommandDispatcherFactory;
@@ -32,6 +33,12 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CommandDispatcherServlet extends HttpServlet {
 
@@ -42,11 +49,44 @@ public class CommandDispatcherServlet extends HttpServlet {
     public static final String COMMAND_DISPATCHER_ROOT_PACKAGE = CONFIG_KEY_PREFIX + ".rootPackage";
     public static final String COMMAND_DISPATCHER_INTERCEPTORS = CONFIG_KEY_PREFIX + ".interceptors";
 
+    /**
+     * Init parameter specifying the number of threads commands are dispatched on: if specified, requests
+     * are processed asynchronously, with non-blocking I/O (the Servlet has to be declared as
+     * {@code async-supported}), otherwise they are processed on the container thread, with blocking I/O.
+     */
+    public static final String ASYNC_DISPATCH_THREADS = CommandDispatcherServlet.class.getName() + ".asyncDispatchThreads";
+
+    /**
+     * Init parameter specifying the timeout of asynchronously processed requests in milliseconds:
+     * requests not completed in time are completed with status code 503. By default, requests
+     * do not time out.
+     */
+    public static final String ASYNC_TIMEOUT = CommandDispatcherServlet.class.getName() + ".asyncTimeout";
+
+    /**
+     * Init parameter specifying the maximal size of asynchronously processed request bodies in bytes:
+     * larger requests are rejected with status code 413. Defaults to
+     * {@link AsyncHttpServletTransport#DEFAULT_MAX_REQUEST_BODY_SIZE}.
+     */
+    public static final String ASYNC_MAX_REQUEST_BODY_SIZE =
+            CommandDispatcherServlet.class.getName() + ".asyncMaxRequestBodySize";
+
+    /**
+     * Init parameter specifying the number of asynchronously processed requests, which can wait for
+     * a dispatch thread: further requests are rejected with status code 503. Defaults to
+     * {@link #DEFAULT_ASYNC_DISPATCH_QUEUE_CAPACITY}.
+     */
+    public static final String ASYNC_DISPATCH_QUEUE_CAPACITY =
+            CommandDispatcherServlet.class.getName() + ".asyncDispatchQueueCapacity";
+
+    public static final int DEFAULT_ASYNC_DISPATCH_QUEUE_CAPACITY = 1024;
+
     /*
      * We follow the same pattern as javax.servlet.GenericServlet#config,
      * where no external synchronisation is used.
      */
     private transient HttpServletTransport httpServletTransport;
+    private transient ExecutorService asyncDispatchExecutor;
 
     @Override
     public void init() throws ServletException {
@@ -69,8 +109,84 @@ public class CommandDispatcherServlet extends HttpServlet {
         HttpServletTransportFactory httpServletTransportFactory =
                 HttpServletTransportFactory.getInstance();
 
-        this.httpServletTransport =
-                httpServletTransportFactory.getHttpServletTransport(dispatcherServer);
+        String asyncDispatchThreads = getInitParameter(ASYNC_DISPATCH_THREADS);
+        if (asyncDispatchThreads == null || asyncDispatchThreads.trim().isEmpty()) {
+            this.httpServletTransport =
+                    httpServletTransportFactory.getHttpServletTransport(dispatcherServer);
+        } else {
+            long asyncTimeout = getLongInitParameter(ASYNC_TIMEOUT, AsyncHttpServletTransport.NO_TIMEOUT);
+            if (asyncTimeout < 0) {
+                throw new ServletException("Servlet Init Parameter " + ASYNC_TIMEOUT
+                        + " cannot be negative: " + asyncTimeout);
+            }
+
+            long maxRequestBodySize = getLongInitParameter(ASYNC_MAX_REQUEST_BODY_SIZE,
+                    AsyncHttpServletTransport.DEFAULT_MAX_REQUEST_BODY_SIZE);
+            if (maxRequestBodySize < 1 || maxRequestBodySize > Integer.MAX_VALUE) {
+                throw new ServletException("Servlet Init Parameter " + ASYNC_MAX_REQUEST_BODY_SIZE
+                        + " must be between 1 and " + Integer.MAX_VALUE + ": " + maxRequestBodySize);
+            }
+
+            long queueCapacity = getLongInitParameter(ASYNC_DISPATCH_QUEUE_CAPACITY,
+                    DEFAULT_ASYNC_DISPATCH_QUEUE_CAPACITY);
+            if (queueCapacity < 1 || queueCapacity > Integer.MAX_VALUE) {
+                throw new ServletException("Servlet Init Parameter " + ASYNC_DISPATCH_QUEUE_CAPACITY
+                        + " must be between 1 and " + Integer.MAX_VALUE + ": " + queueCapacity);
+            }
+
+            this.asyncDispatchExecutor =
+                    createAsyncDispatchExecutor(asyncDispatchThreads.trim(), (int) queueCapacity);
+            this.httpServletTransport = httpServletTransportFactory.getAsyncHttpServletTransport(
+                    dispatcherServer, asyncDispatchExecutor, asyncTimeout, (int) maxRequestBodySize);
+        }
+    }
+
+    private long getLongInitParameter(String name, long defaultValue) throws ServletException {
+        String value = getInitParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ServletException("Invalid value of Servlet Init Parameter " + name + ": " + value, e);
+        }
+    }
+
+    private ExecutorService createAsyncDispatchExecutor(String asyncDispatchThreads, int queueCapacity)
+            throws ServletException {
+
+        int threads;
+        try {
+            threads = Integer.parseInt(asyncDispatchThreads);
+        } catch (NumberFormatException e) {
+            throw new ServletException("Invalid value of Servlet Init Parameter " + ASYNC_DISPATCH_THREADS
+                    + ": " + asyncDispatchThreads, e);
+        }
+        if (threads < 1) {
+            throw new ServletException("Servlet Init Parameter " + ASYNC_DISPATCH_THREADS
+                    + " must be positive: " + threads);
+        }
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "commandmosaic-dispatch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // the queue is bounded, so that the transport rejects requests with 503 once it is full
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+    }
+
+    @Override
+    public void destroy() {
+        if (asyncDispatchExecutor != null) {
+            asyncDispatchExecutor.shutdown();
+        }
+        super.destroy();
     }
 
     private CommandDispatcherConfiguration getConfiguration(
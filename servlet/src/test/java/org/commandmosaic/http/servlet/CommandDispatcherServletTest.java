@@ -34,19 +34,27 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class CommandDispatcherServletTest {
 
     private static final Type HASHMAP_TYPE = new TypeToken<Map<String, Object>>() {}.getType();
+    private static final Type HASHMAP_LIST_TYPE = new TypeToken<List<Map<String, Object>>>() {}.getType();
 
     private static final int port = 12345;
     private static final String localAddress = "http://localhost:" + port;
@@ -70,6 +78,27 @@ public class CommandDispatcherServletTest {
         servletHolder.setInitParameter(CommandDispatcherServlet.COMMAND_DISPATCHER_ROOT_PACKAGE,
                 CommandDispatcherServletTest.class.getPackage().getName());
 
+        ServletHolder asyncServletHolder = handler.addServletWithMapping(CommandDispatcherServlet.class, "/async/*");
+        asyncServletHolder.setInitParameter(CommandDispatcherServlet.COMMAND_DISPATCHER_ROOT_PACKAGE,
+                CommandDispatcherServletTest.class.getPackage().getName());
+        asyncServletHolder.setInitParameter(CommandDispatcherServlet.ASYNC_DISPATCH_THREADS, "2");
+        asyncServletHolder.setAsyncSupported(true);
+
+        ServletHolder limitedServletHolder = handler.addServletWithMapping(CommandDispatcherServlet.class, "/limited/*");
+        limitedServletHolder.setInitParameter(CommandDispatcherServlet.COMMAND_DISPATCHER_ROOT_PACKAGE,
+                CommandDispatcherServletTest.class.getPackage().getName());
+        limitedServletHolder.setInitParameter(CommandDispatcherServlet.ASYNC_DISPATCH_THREADS, "1");
+        limitedServletHolder.setInitParameter(CommandDispatcherServlet.ASYNC_TIMEOUT, "100");
+        limitedServletHolder.setInitParameter(CommandDispatcherServlet.ASYNC_MAX_REQUEST_BODY_SIZE, "1024");
+        limitedServletHolder.setAsyncSupported(true);
+
+        ServletHolder saturatedServletHolder = handler.addServletWithMapping(CommandDispatcherServlet.class, "/saturated/*");
+        saturatedServletHolder.setInitParameter(CommandDispatcherServlet.COMMAND_DISPATCHER_ROOT_PACKAGE,
+                CommandDispatcherServletTest.class.getPackage().getName());
+        saturatedServletHolder.setInitParameter(CommandDispatcherServlet.ASYNC_DISPATCH_THREADS, "1");
+        saturatedServletHolder.setInitParameter(CommandDispatcherServlet.ASYNC_DISPATCH_QUEUE_CAPACITY, "1");
+        saturatedServletHolder.setAsyncSupported(true);
+
         server.start();
     }
 
@@ -117,6 +146,265 @@ public class CommandDispatcherServletTest {
         Assert.assertEquals("Hello John Smith", resultObject);
     }
 
+    @Test
+    public void testAsyncRequestHandler() throws Exception {
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("id", 42L);
+        request.put("command", "GreetCommand");
+        request.put("parameters", Collections.singletonMap("name", "John Smith"));
+        request.put("protocol", "CM/1.0");
+
+        HttpResponse httpResponse = Request.Post(localAddress + "/async/")
+                .bodyString(gson.toJson(request), ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        final int requestOKStatusCode = 200;
+        Assert.assertEquals(requestOKStatusCode, httpResponse.getStatusLine().getStatusCode());
+
+        Map<String, Object> responseAsMap = gson.fromJson(getResponseBodyAsString(httpResponse), HASHMAP_TYPE);
+        Assert.assertEquals(42L, responseAsMap.get("id"));
+        Assert.assertEquals("Hello John Smith", responseAsMap.get("result"));
+
+        HttpResponse invalidHttpResponse = Request.Post(localAddress + "/async/")
+                .bodyString("Hello world!", ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        final int badRequestStatus = 400;
+        Assert.assertEquals(badRequestStatus, invalidHttpResponse.getStatusLine().getStatusCode());
+    }
+
+    @Test
+    public void testAsyncRequestTimeout() throws Exception {
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("command", "SleepCommand");
+        request.put("parameters", Collections.singletonMap("millis", 1000L));
+        request.put("protocol", "CM/1.0");
+
+        HttpResponse httpResponse = Request.Post(localAddress + "/limited/")
+                .bodyString(gson.toJson(request), ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        final int serviceUnavailableStatus = 503;
+        Assert.assertEquals(serviceUnavailableStatus, httpResponse.getStatusLine().getStatusCode());
+    }
+
+    @Test
+    public void testAsyncDispatchRejectedWhenSaturated() throws Exception {
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("command", "SleepCommand");
+        request.put("parameters", Collections.singletonMap("millis", 1000L));
+        request.put("protocol", "CM/1.0");
+
+        String requestString = gson.toJson(request);
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(2);
+        try {
+            // the first request occupies the only dispatch thread, the second one the only slot of the queue
+            List<Future<Integer>> statusCodes = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                statusCodes.add(clientExecutor.submit(() -> Request.Post(localAddress + "/saturated/")
+                        .bodyString(requestString, ContentType.APPLICATION_JSON)
+                        .execute().returnResponse().getStatusLine().getStatusCode()));
+                Thread.sleep(200);
+            }
+
+            HttpResponse httpResponse = Request.Post(localAddress + "/saturated/")
+                    .bodyString(requestString, ContentType.APPLICATION_JSON)
+                    .execute().returnResponse();
+
+            final int serviceUnavailableStatus = 503;
+            Assert.assertEquals(serviceUnavailableStatus, httpResponse.getStatusLine().getStatusCode());
+
+            final int requestOKStatusCode = 200;
+            for (Future<Integer> statusCode : statusCodes) {
+                Assert.assertEquals(requestOKStatusCode, (int) statusCode.get());
+            }
+        } finally {
+            clientExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAsyncRequestBodySizeLimit() throws Exception {
+
+        char[] name = new char[2048];
+        Arrays.fill(name, 'x');
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("command", "GreetCommand");
+        request.put("parameters", Collections.singletonMap("name", new String(name)));
+        request.put("protocol", "CM/1.0");
+
+        byte[] requestBytes = gson.toJson(request).getBytes(StandardCharsets.UTF_8);
+
+        final int payloadTooLargeStatus = 413;
+
+        HttpResponse httpResponse = Request.Post(localAddress + "/limited/")
+                .bodyByteArray(requestBytes, ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+        Assert.assertEquals(payloadTooLargeStatus, httpResponse.getStatusLine().getStatusCode());
+
+        // without a Content-Length header, the limit is enforced while the body is read
+        HttpResponse chunkedHttpResponse = Request.Post(localAddress + "/limited/")
+                .bodyStream(new ByteArrayInputStream(requestBytes), ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+        Assert.assertEquals(payloadTooLargeStatus, chunkedHttpResponse.getStatusLine().getStatusCode());
+    }
+
+    @Test
+    public void testBatchRequest() throws Exception {
+
+        Map<String, Object> greetRequest = new HashMap<>();
+        greetRequest.put("id", 1L);
+        greetRequest.put("command", "GreetCommand");
+        greetRequest.put("parameters", Collections.singletonMap("name", "John Smith"));
+
+        Map<String, Object> nonExistentCommandRequest = new HashMap<>();
+        nonExistentCommandRequest.put("id", 2L);
+        nonExistentCommandRequest.put("command", "NonExistentCommand");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("protocol", "CM/1.0-batch");
+        request.put("requests", Arrays.asList(greetRequest, nonExistentCommandRequest));
+
+        String requestString = gson.toJson(request);
+
+        HttpResponse httpResponse = Request.Post(localAddress)
+                .bodyString(requestString, ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        final int requestOKStatusCode = 200;
+        Assert.assertEquals(requestOKStatusCode, httpResponse.getStatusLine().getStatusCode());
+
+        List<Map<String, Object>> responses = gson.fromJson(getResponseBodyAsString(httpResponse), HASHMAP_LIST_TYPE);
+        Assert.assertEquals(2, responses.size());
+
+        Map<String, Object> greetResponse = responses.get(0);
+        Assert.assertEquals(1L, greetResponse.get("id"));
+        Assert.assertEquals("Hello John Smith", greetResponse.get("result"));
+
+        Map<String, Object> nonExistentCommandResponse = responses.get(1);
+        Assert.assertEquals(2L, nonExistentCommandResponse.get("id"));
+        Assert.assertNull(nonExistentCommandResponse.get("result"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> error = (Map<String, Object>) nonExistentCommandResponse.get("error");
+        Assert.assertEquals("No such command: NonExistentCommand", error.get("errorMessage"));
+    }
+
+    @Test
+    public void testBatchRequestWithNullAuthValue() throws Exception {
+
+        // serialized by hand: the null value of the auth map must be retained in the payload
+        String requestString = "{\"protocol\": \"CM/1.0-batch\", \"auth\": {\"token\": null}, \"requests\": ["
+                + "{\"id\": 1, \"command\": \"GreetCommand\", \"parameters\": {\"name\": \"John Smith\"}},"
+                + "{\"id\": 2, \"command\": \"GreetCommand\", \"parameters\": {\"name\": \"Jane Doe\"}}]}";
+
+        HttpResponse httpResponse = Request.Post(localAddress)
+                .bodyString(requestString, ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        final int requestOKStatusCode = 200;
+        Assert.assertEquals(requestOKStatusCode, httpResponse.getStatusLine().getStatusCode());
+
+        List<Map<String, Object>> responses = gson.fromJson(getResponseBodyAsString(httpResponse), HASHMAP_LIST_TYPE);
+        Assert.assertEquals(2, responses.size());
+        Assert.assertEquals("Hello John Smith", responses.get(0).get("result"));
+        Assert.assertEquals("Hello Jane Doe", responses.get(1).get("result"));
+    }
+
+    @Test
+    public void testBatchRequestWithFailingParameterConversion() throws Exception {
+
+        Map<String, Object> getTimeRequest = new HashMap<>();
+        getTimeRequest.put("id", 1L);
+        getTimeRequest.put("command", "GetTimeCommand");
+        // Integer to Date conversion is not supported
+        getTimeRequest.put("parameters", Collections.singletonMap("date", 1600000000));
+
+        Map<String, Object> greetRequest = new HashMap<>();
+        greetRequest.put("id", 2L);
+        greetRequest.put("command", "GreetCommand");
+        greetRequest.put("parameters", Collections.singletonMap("name", "John Smith"));
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("protocol", "CM/1.0-batch");
+        request.put("requests", Arrays.asList(getTimeRequest, greetRequest));
+
+        HttpResponse httpResponse = Request.Post(localAddress)
+                .bodyString(gson.toJson(request), ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        final int requestOKStatusCode = 200;
+        Assert.assertEquals(requestOKStatusCode, httpResponse.getStatusLine().getStatusCode());
+
+        List<Map<String, Object>> responses = gson.fromJson(getResponseBodyAsString(httpResponse), HASHMAP_LIST_TYPE);
+        Assert.assertEquals(2, responses.size());
+
+        Map<String, Object> getTimeResponse = responses.get(0);
+        Assert.assertEquals(1L, getTimeResponse.get("id"));
+        Assert.assertNull(getTimeResponse.get("result"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> error = (Map<String, Object>) getTimeResponse.get("error");
+        Assert.assertEquals("org.commandmosaic.api.ParameterInjectionException", error.get("errorType"));
+
+        Map<String, Object> greetResponse = responses.get(1);
+        Assert.assertEquals(2L, greetResponse.get("id"));
+        Assert.assertEquals("Hello John Smith", greetResponse.get("result"));
+    }
+
+    @Test
+    public void testOutOfRangeNumberIsNotTruncated() throws Exception {
+
+        // serialized by hand: the command must precede the parameters, so that they are read typed
+        String requestString = "{\"protocol\":\"CM/1.0\",\"command\":\"RepeatCommand\","
+                + "\"parameters\":{\"text\":\"a\",\"times\":3000000000}}";
+
+        HttpResponse httpResponse = Request.Post(localAddress)
+                .bodyString(requestString, ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        String responseText = getResponseBodyAsString(httpResponse);
+
+        final int internalServerErrorStatus = 500;
+        Assert.assertEquals(internalServerErrorStatus, httpResponse.getStatusLine().getStatusCode());
+        Assert.assertTrue(responseText.contains("ParameterInjectionException"));
+    }
+
+    @Test
+    public void testBatchRequestWithOutOfRangeNumber() throws Exception {
+
+        String requestString = "{\"protocol\":\"CM/1.0-batch\",\"requests\":["
+                + "{\"id\":1,\"command\":\"RepeatCommand\",\"parameters\":{\"text\":\"a\",\"times\":3000000000}},"
+                + "{\"id\":2,\"command\":\"RepeatCommand\",\"parameters\":{\"text\":\"a\",\"times\":3}}]}";
+
+        HttpResponse httpResponse = Request.Post(localAddress)
+                .bodyString(requestString, ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        final int requestOKStatusCode = 200;
+        Assert.assertEquals(requestOKStatusCode, httpResponse.getStatusLine().getStatusCode());
+
+        List<Map<String, Object>> responses = gson.fromJson(getResponseBodyAsString(httpResponse), HASHMAP_LIST_TYPE);
+        Assert.assertEquals(2, responses.size());
+
+        Map<String, Object> overflowResponse = responses.get(0);
+        Assert.assertEquals(1L, overflowResponse.get("id"));
+        Assert.assertNull(overflowResponse.get("result"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> error = (Map<String, Object>) overflowResponse.get("error");
+        Assert.assertEquals("org.commandmosaic.api.ParameterInjectionException", error.get("errorType"));
+
+        Map<String, Object> repeatResponse = responses.get(1);
+        Assert.assertEquals(2L, repeatResponse.get("id"));
+        Assert.assertEquals("aaa", repeatResponse.get("result"));
+    }
+
     @Test
     public void testInvalidPayloadRequest() throws Exception {
 
@@ -183,6 +471,37 @@ public class CommandDispatcherServletTest {
         Assert.assertTrue(responseText.contains("No such command: NonExistentCommand"));
     }
 
+    @Test
+    public void testIntegerIsNotConvertedToDate() throws Exception {
+
+        String requestString = "{\"protocol\":\"CM/1.0\",\"command\":\"GetTimeCommand\","
+                + "\"parameters\":{\"date\":1600000000}}";
+
+        HttpResponse httpResponse = Request.Post(localAddress)
+                .bodyString(requestString, ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        String responseText = getResponseBodyAsString(httpResponse);
+
+        // the failed conversion is not a CommandException: it is reported as a server error
+        final int internalServerErrorStatus = 500;
+        Assert.assertEquals(internalServerErrorStatus, httpResponse.getStatusLine().getStatusCode());
+        Assert.assertTrue(responseText.contains("ParameterInjectionException"));
+
+        String longRequestString = "{\"protocol\":\"CM/1.0\",\"command\":\"GetTimeCommand\","
+                + "\"parameters\":{\"date\":1600000000000}}";
+
+        HttpResponse longHttpResponse = Request.Post(localAddress)
+                .bodyString(longRequestString, ContentType.APPLICATION_JSON)
+                .execute().returnResponse();
+
+        final int requestOKStatusCode = 200;
+        Assert.assertEquals(requestOKStatusCode, longHttpResponse.getStatusLine().getStatusCode());
+
+        Map<String, Object> responseAsMap = gson.fromJson(getResponseBodyAsString(longHttpResponse), HASHMAP_TYPE);
+        Assert.assertEquals(1600000000000L, responseAsMap.get("result"));
+    }
+
     @Test
     public void testMissingProtocolRequest() throws Exception {
 
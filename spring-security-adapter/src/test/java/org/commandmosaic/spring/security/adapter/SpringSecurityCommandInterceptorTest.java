@@ -21,6 +21,7 @@ import org.commandmosaic.api.CommandContext;
 import org.commandmosaic.api.executor.CommandExecutor;
 import org.commandmosaic.api.executor.ParameterSource;
 import org.commandmosaic.core.parameter.source.ParameterSources;
+import org.commandmosaic.core.server.context.AuthenticationScope;
 import org.commandmosaic.security.AccessDeniedException;
 import org.easymock.EasyMock;
 import org.junit.After;
@@ -55,6 +56,10 @@ public class SpringSecurityCommandInterceptorTest {
         mockCommandContext = EasyMock.createStrictMock(CommandContext.class);
         mockInterceptorChain = EasyMock.createStrictMock(CommandExecutor.class);
 
+        // no AuthenticationScope: the caller is authenticated for each command
+        EasyMock.expect(mockCommandContext.containsAttribute(AuthenticationScope.ATTRIBUTE_NAME))
+                .andStubReturn(false);
+
         parameterSource = ParameterSources.mapParameterSource(Collections.emptyMap());
     }
 
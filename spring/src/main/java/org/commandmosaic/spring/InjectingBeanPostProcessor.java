@@ -21,85 +21,36 @@ import org.commandmosaic.api.Command;
 import org.commandmosaic.api.conversion.TypeConversionService;
 import org.commandmosaic.api.executor.ParameterSource;
 import org.commandmosaic.core.parameter.ParameterInjector;
-import org.commandmosaic.api.CommandDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.config.BeanPostProcessor;
-import org.springframework.core.Ordered;
-import org.springframework.core.PriorityOrdered;
 
-import java.util.Stack;
-
-public class InjectingBeanPostProcessor implements BeanPostProcessor, PriorityOrdered {
+/**
+ * Injects the parameters of a command into a command bean instantiated by {@link SpringCommandExecutor}.
+ *
+ * The parameters are injected directly by {@link SpringCommandExecutor}, after the command bean
+ * is autowired and before it is initialized (and potentially proxied) by Spring. As a result, no
+ * {@code ThreadLocal} hand-off of the current parameters is required and this class is no longer
+ * a Spring {@code BeanPostProcessor}: it is kept under its original name so that existing
+ * configurations declaring it as a bean continue to work.
+ */
+public class InjectingBeanPostProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(InjectingBeanPostProcessor.class);
 
-    /**
-     * We store the parameters in a static {@code ThreadLocal}: we have one singleton instance
-     * of InjectingBeanPostProcessor managed by Spring and an arbitrary number of worker
-     * threads that use the same {@link CommandDispatcher}.
-     *
-     * We require a {@code Stack} in the {@code ThreadLocal}, as a command might optionally
-     * dispatch further commands to complete its task.
-     */
-    private static final ThreadLocal<Stack<ParameterSource>> parameterStackHolder =
-            ThreadLocal.withInitial(Stack::new);
-
     private final ParameterInjector parameterInjector;
 
     public InjectingBeanPostProcessor(TypeConversionService typeConversionService) {
         parameterInjector = new ParameterInjector(typeConversionService);
     }
 
-    @Override
-    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-        // this call will be executed every time a Command bean is retrieved as we use
-        // the "PROTOTYPE" scope for these beans. We only care about our own Command beans.
-        if(bean instanceof Command) {
-
-            log.trace("Injecting parameters to command bean: {}", bean);
-
-            ParameterSource currentParameters = getCurrentParameters();
-            parameterInjector.processInjection(bean, currentParameters);
-        }
-
-        return bean;
-    }
-
-    @Override
-    public int getOrder() {
-        return Ordered.LOWEST_PRECEDENCE;
-    }
-
-    void putCurrentParameters(ParameterSource parameterSource) {
-        parameterStackHolder.get().push(parameterSource);
-    }
-
-
-    private ParameterSource getCurrentParameters() {
-        Stack<ParameterSource> parameterSources = parameterStackHolder.get();
-        if (parameterSources.empty()) {
-            throw new IllegalArgumentException("No current parameters set");
-        }
+    void injectParameters(Object command, ParameterSource parameterSource) {
+        log.trace("Injecting parameters to command bean: {}", command);
 
-        return parameterSources.peek();
+        parameterInjector.processInjection(command, parameterSource);
     }
 
-    void clearCurrentParameters() {
-        Stack<?> parameterStack = parameterStackHolder.get();
-        parameterStack.pop();
-
-
-        if (parameterStack.isEmpty()) {
-            /*
-            Clear the ThreadLocal in case there are no further elements
-            so that the ThreadLocal will not e.g. pin an unused ClassLoader
-            after shutting down an application running in a shared container
-            at the negligible cost of having to re-initialize on next use.
-            */
-            parameterStackHolder.remove();
-        }
+    void prepare(Class<? extends Command<?>> commandClass) {
+        parameterInjector.prepare(commandClass);
     }
 
 }
@@ -21,6 +21,7 @@ import org.commandmosaic.api.configuration.CommandDispatcherConfiguration;
 import org.commandmosaic.api.conversion.TypeConversionService;
 import org.commandmosaic.api.executor.CommandExecutor;
 import org.commandmosaic.api.interceptor.CommandInterceptor;
+import org.commandmosaic.core.DefaultCommandDispatcher;
 import org.commandmosaic.core.factory.AbstractCommandDispatcherFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +48,20 @@ public class SpringCommandDispatcherFactory extends AbstractCommandDispatcherFac
         return new SpringCommandExecutor(injectingBeanPostProcessor, beanFactory);
     }
 
+    @Override
+    protected DefaultCommandDispatcher createCommandDispatcher(CommandDispatcherConfiguration configuration,
+                                                               CommandExecutor commandExecutor) {
+
+        DefaultCommandDispatcher commandDispatcher = super.createCommandDispatcher(configuration, commandExecutor);
+        if (!configuration.isEagerInitialization()) {
+            // commands are always prepared while the Spring context is refreshed, so that
+            // resolving their constructors and metadata does not happen under live traffic
+            log.debug("Preparing commands, although eager initialization is not configured");
+            commandDispatcher.prepareCommands();
+        }
+        return commandDispatcher;
+    }
+
     @Override
     protected CommandExecutor getCommandExecutor(TypeConversionService typeConversionService) {
         throw new IllegalStateException("This method should not be called");
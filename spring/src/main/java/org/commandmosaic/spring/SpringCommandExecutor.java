@@ -19,35 +19,76 @@ package org.commandmosaic.spring;
 
 import org.commandmosaic.api.Command;
 import org.commandmosaic.api.CommandContext;
-import org.commandmosaic.api.executor.CommandExecutor;
 import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.core.executor.CommandInstantiator;
+import org.commandmosaic.core.executor.PreparableCommandExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanFactory;
-import org.springframework.beans.factory.config.BeanDefinition;
-import org.springframework.beans.factory.support.DefaultListableBeanFactory;
-import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.util.ReflectionUtils;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class SpringCommandExecutor implements CommandExecutor {
+/**
+ * <p>
+ * Executes commands as Spring beans: each command is instantiated, autowired,
+ * injected with its parameters and finally initialized by the {@link AutowireCapableBeanFactory}
+ * (so that e.g. {@code @Transactional} proxies are applied).
+ * </p>
+ *
+ * <p>
+ * The parameters are injected directly, between autowiring and initialization:
+ * neither a prototype bean definition lookup, nor a {@code ThreadLocal} hand-off of
+ * the parameters to a {@code BeanPostProcessor} is required. As a result, the parameters
+ * are available to {@code @PostConstruct} methods, {@code afterPropertiesSet()} and
+ * {@code BeanPostProcessor}s (formerly, they were injected after {@code @PostConstruct} methods). How a command class is
+ * instantiated (including the constructor to autowire, determined just like for Spring beans, e.g.
+ * the {@code @Autowired} one) is resolved only once per class and cached:
+ * by default, via {@link #prepare(Class)} for every command when the dispatcher is created,
+ * so that no resolution happens under live traffic.
+ * </p>
+ */
+public class SpringCommandExecutor implements PreparableCommandExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(SpringCommandExecutor.class);
 
     private final InjectingBeanPostProcessor injectingBeanPostProcessor;
-    private final DefaultListableBeanFactory beanFactory;
+    private final AutowireCapableBeanFactory beanFactory;
+
+    private final CommandInstantiator commandInstantiator = new CommandInstantiator();
+    private final Map<Class<?>, CommandBeanHandle> commandBeanHandles = new ConcurrentHashMap<>(256);
 
     public SpringCommandExecutor(
             InjectingBeanPostProcessor injectingBeanPostProcessor,
             BeanFactory beanFactory) {
 
+        Objects.requireNonNull(injectingBeanPostProcessor, "argument injectingBeanPostProcessor cannot be null");
+        Objects.requireNonNull(beanFactory, "argument beanFactory cannot be null");
+
         this.injectingBeanPostProcessor = injectingBeanPostProcessor;
 
-        if (!(beanFactory instanceof DefaultListableBeanFactory)) {
-            throw new IllegalArgumentException("DefaultListableBeanFactory is required, but was: "
+        if (!(beanFactory instanceof AutowireCapableBeanFactory)) {
+            throw new IllegalArgumentException("AutowireCapableBeanFactory is required, but was: "
                     + beanFactory.getClass());
         }
-        this.beanFactory = (DefaultListableBeanFactory) beanFactory;
+        this.beanFactory = (AutowireCapableBeanFactory) beanFactory;
 
     }
 
@@ -57,38 +98,196 @@ public class SpringCommandExecutor implements CommandExecutor {
 
         Objects.requireNonNull(commandClass, "argument commandClass cannot be null");
 
-        String commandClassName = commandClass.getName();
-        Objects.requireNonNull(commandClassName, "commandClassName cannot be null");
+        log.debug("Requested execution of command {}", commandClass);
 
-        Objects.requireNonNull(beanFactory, "beanFactory is not injected: this is illegal");
+        CommandBeanHandle commandBeanHandle = getCommandBeanHandle(commandClass);
 
-        log.debug("Requested execution of command {}", commandClass);
+        @SuppressWarnings("unchecked")
+        Command<R> commandBean = (Command<R>) commandBeanHandle.createBean(parameters);
+
+        log.trace("Calling execute on target command {}", commandBean);
+        return commandBean.execute(context);
+    }
+
+    @Override
+    public void prepare(Class<? extends Command<?>> commandClass) {
+        log.debug("Preparing execution of command {}", commandClass);
+
+        getCommandBeanHandle(commandClass);
+        injectingBeanPostProcessor.prepare(commandClass);
+    }
+
+    private CommandBeanHandle getCommandBeanHandle(Class<?> commandClass) {
+        CommandBeanHandle commandBeanHandle = commandBeanHandles.get(commandClass);
+        if (commandBeanHandle == null) {
+            commandBeanHandle = commandBeanHandles.computeIfAbsent(commandClass, this::createCommandBeanHandle);
+        }
+        return commandBeanHandle;
+    }
+
+    private CommandBeanHandle createCommandBeanHandle(Class<?> commandClass) {
+        Constructor<?>[] candidateConstructors = determineCandidateConstructors(commandClass);
+
+        if (candidateConstructors.length == 0) {
+            if (hasNoArgumentConstructor(commandClass)) {
+                log.trace("Command {} is instantiated via its no-argument constructor", commandClass);
+
+                commandInstantiator.prepare(commandClass);
+                return new CommandBeanHandle(commandClass, false, null);
+            }
+
+            // let Spring choose from the constructors on each instantiation
+            log.trace("Command {} is instantiated via constructor autowiring", commandClass);
+            return new CommandBeanHandle(commandClass, true, null);
+        }
+
+        log.trace("Command {} is instantiated via one of the autowired constructors {}",
+                commandClass, candidateConstructors);
+
+        // just like Spring: public constructors first, then the ones with the most arguments
+        Constructor<?>[] sortedConstructors = candidateConstructors.clone();
+        Arrays.sort(sortedConstructors, Comparator
+                .comparing((Constructor<?> constructor) -> !Modifier.isPublic(constructor.getModifiers()))
+                .thenComparing(Constructor::getParameterCount, Comparator.reverseOrder()));
+
+        boolean required = sortedConstructors.length == 1;
+
+        AutowiredConstructor[] autowiredConstructors = new AutowiredConstructor[sortedConstructors.length];
+        for (int i = 0; i < autowiredConstructors.length; i++) {
+            autowiredConstructors[i] = new AutowiredConstructor(sortedConstructors[i], required);
+        }
+
+        return new CommandBeanHandle(commandClass, true, autowiredConstructors);
+    }
 
-        if (!beanFactory.containsBeanDefinition(commandClassName)) {
+    /**
+     * Determines the constructors to autowire, just like Spring does for its beans: via the
+     * {@code SmartInstantiationAwareBeanPostProcessor}s of the bean factory (e.g. the
+     * {@code AutowiredAnnotationBeanPostProcessor} selecting the {@code @Autowired} constructors).
+     */
+    private Constructor<?>[] determineCandidateConstructors(Class<?> commandClass) {
+        for (SmartInstantiationAwareBeanPostProcessor beanPostProcessor : getSmartInstantiationAwareBeanPostProcessors()) {
+            Constructor<?>[] candidateConstructors =
+                    beanPostProcessor.determineCandidateConstructors(commandClass, commandClass.getName());
+            if (candidateConstructors != null) {
+                return candidateConstructors;
+            }
+        }
+        return new Constructor<?>[0];
+    }
 
-            log.trace("Registering bean definition of command {}", commandClass);
+    private List<SmartInstantiationAwareBeanPostProcessor> getSmartInstantiationAwareBeanPostProcessors() {
+        List<SmartInstantiationAwareBeanPostProcessor> beanPostProcessors = new ArrayList<>();
 
-            GenericBeanDefinition gbd = new GenericBeanDefinition();
-            gbd.setBeanClass(commandClass);
-            gbd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        if (beanFactory instanceof AbstractBeanFactory) {
+            for (BeanPostProcessor beanPostProcessor : ((AbstractBeanFactory) beanFactory).getBeanPostProcessors()) {
+                if (beanPostProcessor instanceof SmartInstantiationAwareBeanPostProcessor) {
+                    beanPostProcessors.add((SmartInstantiationAwareBeanPostProcessor) beanPostProcessor);
+                }
+            }
+        }
 
-            beanFactory.registerBeanDefinition(commandClassName, gbd);
+        if (beanPostProcessors.isEmpty()) {
+            // the bean factory is not configured for annotation-driven injection
+            AutowiredAnnotationBeanPostProcessor autowiredAnnotationBeanPostProcessor =
+                    new AutowiredAnnotationBeanPostProcessor();
+            autowiredAnnotationBeanPostProcessor.setBeanFactory(beanFactory);
+            beanPostProcessors.add(autowiredAnnotationBeanPostProcessor);
         }
 
+        return beanPostProcessors;
+    }
+
+    private static boolean hasNoArgumentConstructor(Class<?> commandClass) {
         try {
-            log.trace("Putting current parameters {}", parameters);
-            injectingBeanPostProcessor.putCurrentParameters(parameters);
+            commandClass.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
 
-            log.trace("Retrieving command bean from beanFactory {}", commandClassName);
-            @SuppressWarnings("unchecked")
-            Command<R> commandBean = (Command<R>) beanFactory.getBean(commandClassName);
+    /**
+     * An autowired constructor, with the dependencies of its parameters.
+     */
+    private static final class AutowiredConstructor {
 
-            log.trace("Calling execute on target command {}", commandBean);
-            return commandBean.execute(context);
+        private final Constructor<?> constructor;
+        private final DependencyDescriptor[] dependencies;
+
+        private AutowiredConstructor(Constructor<?> constructor, boolean required) {
+            ReflectionUtils.makeAccessible(constructor);
+
+            this.constructor = constructor;
+            this.dependencies = new DependencyDescriptor[constructor.getParameterCount()];
+            for (int i = 0; i < dependencies.length; i++) {
+                dependencies[i] = new DependencyDescriptor(new MethodParameter(constructor, i), required);
+            }
         }
-        finally {
-            log.trace("Clearing current parameters");
-            injectingBeanPostProcessor.clearCurrentParameters();
+    }
+
+    /**
+     * The resolved way of creating the beans of a specific command class.
+     */
+    private final class CommandBeanHandle {
+
+        private final Class<?> commandClass;
+        private final String beanName;
+        private final boolean constructorAutowiring;
+
+        private final AutowiredConstructor[] autowiredConstructors;
+
+        private CommandBeanHandle(Class<?> commandClass, boolean constructorAutowiring,
+                                  AutowiredConstructor[] autowiredConstructors) {
+            this.commandClass = commandClass;
+            this.beanName = commandClass.getName();
+            this.constructorAutowiring = constructorAutowiring;
+            this.autowiredConstructors = autowiredConstructors;
+        }
+
+        private Object instantiate() {
+            if (autowiredConstructors != null) {
+                // the first constructor the dependencies of which can all be resolved is used
+                for (AutowiredConstructor autowiredConstructor : autowiredConstructors) {
+                    Object bean = instantiate(autowiredConstructor);
+                    if (bean != null) {
+                        return bean;
+                    }
+                }
+
+                throw new BeanCreationException(beanName,
+                        "None of the autowired constructors of " + commandClass + " can be satisfied");
+            }
+
+            if (constructorAutowiring) {
+                return beanFactory.autowire(commandClass, AutowireCapableBeanFactory.AUTOWIRE_CONSTRUCTOR, false);
+            }
+
+            return commandInstantiator.instantiate(commandClass);
+        }
+
+        private Object instantiate(AutowiredConstructor autowiredConstructor) {
+            DependencyDescriptor[] dependencies = autowiredConstructor.dependencies;
+
+            Object[] arguments = new Object[dependencies.length];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = beanFactory.resolveDependency(dependencies[i], beanName);
+                if (arguments[i] == null && !dependencies[i].isRequired()) {
+                    return null;
+                }
+            }
+            return BeanUtils.instantiateClass(autowiredConstructor.constructor, arguments);
+        }
+
+        private Object createBean(ParameterSource parameters) {
+            Object bean = instantiate();
+
+            // applies annotation-driven injection (e.g. @Autowired) only
+            beanFactory.autowireBeanProperties(bean, AutowireCapableBeanFactory.AUTOWIRE_NO, false);
+
+            injectingBeanPostProcessor.injectParameters(bean, parameters);
+
+            return beanFactory.initializeBean(bean, beanName);
         }
     }
 }
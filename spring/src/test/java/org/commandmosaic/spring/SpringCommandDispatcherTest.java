@@ -38,6 +38,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PostConstruct;
 import javax.sql.DataSource;
 import java.util.Collections;
 
@@ -102,6 +103,130 @@ public class SpringCommandDispatcherTest {
         assertNoTransactionIsProgress(platformTransactionManager);
     }
 
+    @Test
+    public void testConstructorAutowiredCommandDispatch() {
+
+        String commandName = getClass().getSimpleName() + "$" + ConstructorAutowiredTestCommand.class.getSimpleName();
+
+        Object result = commandDispatcher.dispatchCommand(commandName,
+                Collections.singletonMap("name", "foo"), null);
+
+        Assert.assertEquals("foo: true", result);
+    }
+
+    @Test
+    public void testAnnotatedConstructorIsPreferredToNoArgumentConstructor() {
+
+        String commandName = getClass().getSimpleName() + "$"
+                + NoArgumentAndAutowiredConstructorTestCommand.class.getSimpleName();
+
+        Object result = commandDispatcher.dispatchCommand(commandName, null, null);
+
+        Assert.assertEquals("autowired: true", result);
+    }
+
+    @Test
+    public void testAnnotatedConstructorIsPreferredToGreediestConstructor() {
+
+        String commandName = getClass().getSimpleName() + "$"
+                + MultipleConstructorsTestCommand.class.getSimpleName();
+
+        Object result = commandDispatcher.dispatchCommand(commandName, null, null);
+
+        Assert.assertEquals("autowired: true", result);
+    }
+
+    @Test
+    public void testParametersAreInjectedBeforeInitialization() {
+
+        String commandName = getClass().getSimpleName() + "$" + PostConstructTestCommand.class.getSimpleName();
+
+        Object result = commandDispatcher.dispatchCommand(commandName,
+                Collections.singletonMap("name", "foo"), null);
+
+        Assert.assertEquals("foo", result);
+    }
+
+    public static class PostConstructTestCommand implements Command<String> {
+
+        @Parameter
+        private String name;
+
+        private String nameOnPostConstruct;
+
+        @PostConstruct
+        public void postConstruct() {
+            nameOnPostConstruct = name;
+        }
+
+        @Override
+        public String execute(CommandContext context) {
+            return nameOnPostConstruct;
+        }
+    }
+
+    public static class ConstructorAutowiredTestCommand implements Command<String> {
+
+        private final DataSource dataSource;
+
+        @Parameter
+        private String name;
+
+        public ConstructorAutowiredTestCommand(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public String execute(CommandContext context) {
+            return name + ": " + (dataSource != null);
+        }
+    }
+
+    public static class NoArgumentAndAutowiredConstructorTestCommand implements Command<String> {
+
+        private final String constructor;
+        private final DataSource dataSource;
+
+        public NoArgumentAndAutowiredConstructorTestCommand() {
+            this.constructor = "no-argument";
+            this.dataSource = null;
+        }
+
+        @Autowired
+        public NoArgumentAndAutowiredConstructorTestCommand(DataSource dataSource) {
+            this.constructor = "autowired";
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public String execute(CommandContext context) {
+            return constructor + ": " + (dataSource != null);
+        }
+    }
+
+    public static class MultipleConstructorsTestCommand implements Command<String> {
+
+        private final String constructor;
+        private final DataSource dataSource;
+
+        @Autowired
+        public MultipleConstructorsTestCommand(DataSource dataSource) {
+            this.constructor = "autowired";
+            this.dataSource = dataSource;
+        }
+
+        public MultipleConstructorsTestCommand(DataSource dataSource,
+                                               PlatformTransactionManager platformTransactionManager) {
+            this.constructor = "greediest";
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public String execute(CommandContext context) {
+            return constructor + ": " + (dataSource != null);
+        }
+    }
+
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public static class TransactionActiveTestCommand implements Command<Integer> {
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.virtualthread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Reports commands, which would pin the virtual thread executing them to its carrier thread:
+ * a command class (or any of its superclasses) declaring {@code synchronized} methods is logged
+ * with a warning, once per class. {@code synchronized} blocks within methods cannot be detected
+ * via reflection: these are reported by the JVM itself, if started with
+ * {@code -Djdk.tracePinnedThreads=short}.
+ * </p>
+ */
+final class PinningDiagnostics {
+
+    private static final Logger log = LoggerFactory.getLogger(PinningDiagnostics.class);
+
+    private static final String TRACE_PINNED_THREADS_PROPERTY = "jdk.tracePinnedThreads";
+
+    private final boolean enabled;
+    private final Map<Class<?>, Boolean> checkedClasses = new ConcurrentHashMap<>();
+
+    PinningDiagnostics(boolean enabled) {
+        this.enabled = enabled;
+
+        if (enabled && System.getProperty(TRACE_PINNED_THREADS_PROPERTY) == null) {
+            log.info("Start the JVM with -D{}=short to have pinned virtual threads reported",
+                    TRACE_PINNED_THREADS_PROPERTY);
+        }
+    }
+
+    void check(Class<?> commandClass) {
+        if (enabled) {
+            checkedClasses.computeIfAbsent(commandClass, PinningDiagnostics::reportSynchronizedMethods);
+        }
+    }
+
+    private static Boolean reportSynchronizedMethods(Class<?> commandClass) {
+        List<Method> synchronizedMethods = getSynchronizedMethods(commandClass);
+        if (!synchronizedMethods.isEmpty()) {
+            log.warn("Command {} declares synchronized method(s), which pin the virtual thread executing "
+                    + "them to its carrier thread: {}", commandClass.getName(), synchronizedMethods);
+        }
+        return synchronizedMethods.isEmpty();
+    }
+
+    static List<Method> getSynchronizedMethods(Class<?> commandClass) {
+        List<Method> synchronizedMethods = new ArrayList<>();
+        for (Class<?> clazz = commandClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (Modifier.isSynchronized(method.getModifiers())) {
+                    synchronizedMethods.add(method);
+                }
+            }
+        }
+        return synchronizedMethods;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.virtualthread;
+
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.api.executor.CommandExecutor;
+import org.commandmosaic.api.executor.ParameterSource;
+import org.commandmosaic.core.executor.PreparableCommandExecutor;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * A {@link CommandExecutor} decorator executing each command on a virtual thread: if the calling
+ * thread is a virtual thread already, the command is executed on it directly, otherwise on a new
+ * virtual thread, with the calling thread waiting for the result. Commands declaring
+ * {@code synchronized} methods, which pin the virtual thread to its carrier, are reported
+ * (see {@link PinningDiagnostics}).
+ * </p>
+ *
+ * <p>
+ * The decorator is installed by overriding {@code getCommandExecutor(TypeConversionService)}
+ * of the {@code CommandDispatcherFactory} used, e.g. for plain Java applications:
+ * </p>
+ *
+ * <pre>
+ * new PlainCommandDispatcherFactory() {
+ *     protected CommandExecutor getCommandExecutor(TypeConversionService typeConversionService) {
+ *         return new VirtualThreadCommandExecutor(super.getCommandExecutor(typeConversionService));
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * Commands executed on a new virtual thread do not see the {@code ThreadLocal} state of the calling
+ * thread: only the SLF4J {@code MDC} is propagated. In particular, the Spring Security
+ * {@code SecurityContextHolder} (in its default, {@code MODE_THREADLOCAL} strategy) is empty, and
+ * the transaction (and transaction synchronizations) of the calling thread is not visible
+ * to the command: a command has to start its own transaction, e.g. via {@code @Transactional}.
+ * The {@code CommandContext} is passed to the command, just like on the calling thread.
+ * </p>
+ *
+ * <p>
+ * The virtual thread executor created is shut down by {@link #close()}, which is called
+ * automatically by Spring, when the executor is declared as a bean.
+ * </p>
+ */
+public class VirtualThreadCommandExecutor implements PreparableCommandExecutor, AutoCloseable {
+
+    private final CommandExecutor commandExecutor;
+    private final ExecutorService virtualThreadExecutor;
+    private final boolean ownsVirtualThreadExecutor;
+    private final PinningDiagnostics pinningDiagnostics;
+
+    /**
+     * Creates a {@code VirtualThreadCommandExecutor} decorating the {@code CommandExecutor} specified.
+     *
+     * @param commandExecutor the {@code CommandExecutor} to decorate
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported by the JVM
+     */
+    public VirtualThreadCommandExecutor(CommandExecutor commandExecutor) {
+        this(commandExecutor, VirtualThreads.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    VirtualThreadCommandExecutor(CommandExecutor commandExecutor, ExecutorService virtualThreadExecutor) {
+        this(commandExecutor, virtualThreadExecutor, false);
+    }
+
+    private VirtualThreadCommandExecutor(CommandExecutor commandExecutor, ExecutorService virtualThreadExecutor,
+                                         boolean ownsVirtualThreadExecutor) {
+        Objects.requireNonNull(commandExecutor, "argument commandExecutor cannot be null");
+        Objects.requireNonNull(virtualThreadExecutor, "argument virtualThreadExecutor cannot be null");
+
+        this.commandExecutor = commandExecutor;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.ownsVirtualThreadExecutor = ownsVirtualThreadExecutor;
+        this.pinningDiagnostics = new PinningDiagnostics(VirtualThreads.isPinnedBySynchronized());
+    }
+
+    @Override
+    public <R, C extends Command<R>> R execute(Class<C> commandClass, ParameterSource parameters,
+                                               CommandContext context) {
+
+        pinningDiagnostics.check(commandClass);
+
+        if (VirtualThreads.isVirtual(Thread.currentThread())) {
+            return commandExecutor.execute(commandClass, parameters, context);
+        }
+
+        Map<String, String> contextMap = MDC.getCopyOfContextMap();
+
+        Future<R> result = virtualThreadExecutor.submit(() -> {
+            if (contextMap != null) {
+                MDC.setContextMap(contextMap);
+            }
+            try {
+                return commandExecutor.execute(commandClass, parameters, context);
+            } finally {
+                MDC.clear();
+            }
+        });
+        try {
+            return result.get();
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Command " + commandClass + " failed", cause);
+
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while executing command " + commandClass, e);
+        }
+    }
+
+    @Override
+    public void prepare(Class<? extends Command<?>> commandClass) {
+        pinningDiagnostics.check(commandClass);
+
+        if (commandExecutor instanceof PreparableCommandExecutor) {
+            ((PreparableCommandExecutor) commandExecutor).prepare(commandClass);
+        }
+    }
+
+    /**
+     * Shuts down the virtual thread executor created by this {@code VirtualThreadCommandExecutor}:
+     * commands being executed are completed, but further commands are rejected.
+     */
+    @Override
+    public void close() {
+        if (ownsVirtualThreadExecutor) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("VirtualThreadCommandExecutor{");
+        sb.append("commandExecutor=").append(commandExecutor);
+        sb.append('}');
+        return sb.toString();
+    }
+}
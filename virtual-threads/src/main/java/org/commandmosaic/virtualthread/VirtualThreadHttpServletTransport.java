@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.virtualthread;
+
+import org.commandmosaic.core.buffer.BufferPool;
+import org.commandmosaic.http.servlet.common.AsyncHttpServletTransport;
+import org.commandmosaic.http.servlet.common.DefaultHttpServletTransport;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * <p>
+ * An {@link AsyncHttpServletTransport} dispatching each request on a new virtual thread:
+ * neither container threads, nor a limited pool of dispatch threads are blocked by
+ * commands waiting for I/O.
+ * </p>
+ *
+ * <p>
+ * The virtual thread executor created is shut down by {@link #close()}, which is called
+ * automatically by Spring, when the transport is declared as a bean.
+ * </p>
+ *
+ * <p>
+ * This class requires the {@code commandmosaic-servlet-common} module on the classpath.
+ * </p>
+ */
+public class VirtualThreadHttpServletTransport extends AsyncHttpServletTransport implements AutoCloseable {
+
+    private final ExecutorService virtualThreadExecutor;
+    private final boolean ownsVirtualThreadExecutor;
+
+    /**
+     * Creates a {@code VirtualThreadHttpServletTransport} for the {@code DefaultHttpServletTransport}
+     * specified (see {@link AsyncHttpServletTransport}).
+     *
+     * @param httpServletTransport the transport determining the status code of failed requests
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported by the JVM
+     */
+    public VirtualThreadHttpServletTransport(DefaultHttpServletTransport httpServletTransport) {
+        this(httpServletTransport, new BufferPool());
+    }
+
+    public VirtualThreadHttpServletTransport(DefaultHttpServletTransport httpServletTransport,
+                                             BufferPool bufferPool) {
+        this(httpServletTransport, VirtualThreads.newVirtualThreadPerTaskExecutor(), bufferPool, true);
+    }
+
+    /**
+     * Creates a {@code VirtualThreadHttpServletTransport} dispatching requests on the virtual thread
+     * executor specified (e.g. one shared with {@code VirtualThreadCommandExecutor}), which is
+     * not shut down by {@link #close()}.
+     *
+     * @param httpServletTransport the transport determining the status code of failed requests
+     * @param virtualThreadExecutor the executor creating a virtual thread for each request
+     * @param bufferPool the pool of the request and response buffers
+     */
+    public VirtualThreadHttpServletTransport(DefaultHttpServletTransport httpServletTransport,
+                                             ExecutorService virtualThreadExecutor,
+                                             BufferPool bufferPool) {
+        this(httpServletTransport, virtualThreadExecutor, bufferPool, false);
+    }
+
+    private VirtualThreadHttpServletTransport(DefaultHttpServletTransport httpServletTransport,
+                                              ExecutorService virtualThreadExecutor,
+                                              BufferPool bufferPool,
+                                              boolean ownsVirtualThreadExecutor) {
+        super(httpServletTransport, virtualThreadExecutor, bufferPool);
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.ownsVirtualThreadExecutor = ownsVirtualThreadExecutor;
+    }
+
+    /**
+     * Shuts down the virtual thread executor created by this {@code VirtualThreadHttpServletTransport}:
+     * requests being dispatched are completed, but further requests are rejected with status code 503.
+     */
+    @Override
+    public void close() {
+        if (ownsVirtualThreadExecutor) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.virtualthread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>
+ * Provides access to the virtual threads of JDK 21+: as the framework is compiled for Java 8,
+ * the corresponding JDK methods are looked up via reflection once, when this class is initialized.
+ * </p>
+ */
+public final class VirtualThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreads.class);
+
+    /**
+     * Virtual threads are pinned to their carrier thread within {@code synchronized}
+     * blocks and methods up to JDK 23 (resolved by JEP 491 in JDK 24).
+     */
+    private static final int FIRST_VERSION_WITHOUT_SYNCHRONIZED_PINNING = 24;
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR;
+    private static final MethodHandle IS_VIRTUAL;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        MethodHandle newVirtualThreadPerTaskExecutor;
+        MethodHandle isVirtual;
+        try {
+            newVirtualThreadPerTaskExecutor = lookup.findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            log.debug("Virtual threads are not supported by the JVM", e);
+
+            newVirtualThreadPerTaskExecutor = null;
+            isVirtual = null;
+        }
+
+        NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = newVirtualThreadPerTaskExecutor;
+        IS_VIRTUAL = isVirtual;
+    }
+
+    private VirtualThreads() {
+        // no external instances
+    }
+
+    /**
+     * Returns whether virtual threads are supported by the JVM.
+     *
+     * @return {@code true} if virtual threads are supported, {@code false} otherwise
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an {@code ExecutorService} starting a new virtual thread for each task
+     * (see {@code Executors.newVirtualThreadPerTaskExecutor()}).
+     *
+     * @return a new {@code ExecutorService} (never {@code null})
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported by the JVM
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by the JVM: "
+                    + System.getProperty("java.version") + "; JDK 21 or later is required");
+        }
+
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) { // should not happen: the method declares no checked exceptions
+            throw new IllegalStateException("Failed to create virtual thread executor", throwable);
+        }
+    }
+
+    /**
+     * Returns whether the thread specified is a virtual thread.
+     *
+     * @param thread the thread to check
+     *
+     * @return {@code true} if the thread is a virtual thread, {@code false} otherwise
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) { // should not happen: the method declares no checked exceptions
+            throw new IllegalStateException("Failed to check thread " + thread, throwable);
+        }
+    }
+
+    /**
+     * Returns whether virtual threads of the JVM are pinned to their carrier thread
+     * while executing a {@code synchronized} block or method.
+     *
+     * @return {@code true} if {@code synchronized} pins virtual threads, {@code false} otherwise
+     */
+    static boolean isPinnedBySynchronized() {
+        if (!isSupported()) {
+            return false;
+        }
+
+        String specificationVersion = System.getProperty("java.specification.version", "");
+        try {
+            return Integer.parseInt(specificationVersion) < FIRST_VERSION_WITHOUT_SYNCHRONIZED_PINNING;
+        } catch (NumberFormatException e) {
+            log.debug("Unexpected java.specification.version: {}", specificationVersion, e);
+            return true;
+        }
+    }
+}
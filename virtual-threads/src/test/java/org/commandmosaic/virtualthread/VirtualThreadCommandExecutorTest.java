@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.virtualthread;
+
+import org.commandmosaic.api.Command;
+import org.commandmosaic.api.CommandContext;
+import org.commandmosaic.api.executor.CommandExecutor;
+import org.commandmosaic.api.executor.ParameterSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+public class VirtualThreadCommandExecutorTest {
+
+    /**
+     * Set by the {@code jdk21-tests} profile, so that tests requiring virtual threads fail instead of being skipped.
+     */
+    private static final String VIRTUAL_THREADS_REQUIRED = "commandmosaic.test.virtualThreadsRequired";
+
+    private ExecutorService executorService;
+
+    @Before
+    public void beforeTest() {
+        // a platform thread pool stands in for virtual threads, so that the test runs on any JDK
+        executorService = VirtualThreads.isSupported()
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor() : Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void afterTest() {
+        executorService.shutdown();
+    }
+
+    @Test
+    public void testCommandIsExecutedOnExecutorThread() {
+        CommandExecutor threadNameExecutor = new CommandExecutor() {
+            @Override
+            public <R, C extends Command<R>> R execute(Class<C> commandClass,
+                                                       ParameterSource parameters, CommandContext context) {
+                @SuppressWarnings("unchecked")
+                R threadName = (R) Thread.currentThread().getName();
+                return threadName;
+            }
+        };
+
+        VirtualThreadCommandExecutor commandExecutor =
+                new VirtualThreadCommandExecutor(threadNameExecutor, executorService);
+
+        String threadName = commandExecutor.execute(SynchronizedCommand.class, null, null);
+
+        Assert.assertNotEquals(Thread.currentThread().getName(), threadName);
+    }
+
+    @Test
+    public void testExceptionIsPropagated() {
+        CommandExecutor failingExecutor = new CommandExecutor() {
+            @Override
+            public <R, C extends Command<R>> R execute(Class<C> commandClass,
+                                                       ParameterSource parameters, CommandContext context) {
+                throw new IllegalArgumentException("failure");
+            }
+        };
+
+        VirtualThreadCommandExecutor commandExecutor =
+                new VirtualThreadCommandExecutor(failingExecutor, executorService);
+
+        IllegalArgumentException exception = Assert.assertThrows(IllegalArgumentException.class,
+                () -> commandExecutor.execute(SynchronizedCommand.class, null, null));
+
+        Assert.assertEquals("failure", exception.getMessage());
+    }
+
+    @Test
+    public void testCommandIsExecutedOnVirtualThread() {
+        if (!Boolean.getBoolean(VIRTUAL_THREADS_REQUIRED)) {
+            Assume.assumeTrue("Virtual threads are not supported by the JVM", VirtualThreads.isSupported());
+        }
+
+        CommandExecutor isVirtualExecutor = new CommandExecutor() {
+            @Override
+            public <R, C extends Command<R>> R execute(Class<C> commandClass,
+                                                       ParameterSource parameters, CommandContext context) {
+                @SuppressWarnings("unchecked")
+                R isVirtual = (R) Boolean.valueOf(VirtualThreads.isVirtual(Thread.currentThread()));
+                return isVirtual;
+            }
+        };
+
+        VirtualThreadCommandExecutor commandExecutor = new VirtualThreadCommandExecutor(isVirtualExecutor);
+
+        Boolean isVirtual = commandExecutor.execute(BooleanCommand.class, null, null);
+        Assert.assertEquals(Boolean.TRUE, isVirtual);
+
+        commandExecutor.close();
+
+        Assert.assertThrows(RejectedExecutionException.class,
+                () -> commandExecutor.execute(BooleanCommand.class, null, null));
+    }
+
+    @Test
+    public void testMdcIsPropagated() {
+        CommandExecutor mdcExecutor = new CommandExecutor() {
+            @Override
+            public <R, C extends Command<R>> R execute(Class<C> commandClass,
+                                                       ParameterSource parameters, CommandContext context) {
+                @SuppressWarnings("unchecked")
+                R requestId = (R) MDC.get("requestId");
+                return requestId;
+            }
+        };
+
+        VirtualThreadCommandExecutor commandExecutor =
+                new VirtualThreadCommandExecutor(mdcExecutor, executorService);
+
+        MDC.put("requestId", "42");
+        try {
+            Assert.assertEquals("42", commandExecutor.execute(SynchronizedCommand.class, null, null));
+        } finally {
+            MDC.remove("requestId");
+        }
+    }
+
+    @Test
+    public void testExecutorSpecifiedIsNotShutDown() {
+        VirtualThreadCommandExecutor commandExecutor =
+                new VirtualThreadCommandExecutor(new UnusedCommandExecutor(), executorService);
+
+        commandExecutor.close();
+
+        Assert.assertFalse(executorService.isShutdown());
+    }
+
+    @Test
+    public void testSynchronizedMethodsAreDetected() throws NoSuchMethodException {
+        Assert.assertEquals(
+                Collections.singletonList(SynchronizedCommand.class.getDeclaredMethod("execute", CommandContext.class)),
+                PinningDiagnostics.getSynchronizedMethods(SynchronizedCommand.class));
+    }
+
+    public static class SynchronizedCommand implements Command<String> {
+
+        @Override
+        public synchronized String execute(CommandContext context) {
+            return "synchronized";
+        }
+    }
+
+    public static class BooleanCommand implements Command<Boolean> {
+
+        @Override
+        public Boolean execute(CommandContext context) {
+            return Boolean.TRUE;
+        }
+    }
+
+    private static final class UnusedCommandExecutor implements CommandExecutor {
+
+        @Override
+        public <R, C extends Command<R>> R execute(Class<C> commandClass,
+                                                   ParameterSource parameters, CommandContext context) {
+            throw new UnsupportedOperationException("not executed");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2020-2022 Peter G. Horvath, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.commandmosaic.virtualthread;
+
+import org.commandmosaic.core.buffer.BufferPool;
+import org.commandmosaic.http.servlet.common.DefaultHttpServletTransport;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class VirtualThreadHttpServletTransportTest {
+
+    private final DefaultHttpServletTransport httpServletTransport = new DefaultHttpServletTransport(
+            (request, response, context) -> {
+                throw new AssertionError("Request serviced");
+            });
+
+    @Test
+    public void testExecutorSpecifiedIsNotShutDown() {
+        // a platform thread pool stands in for virtual threads, so that the test runs on any JDK
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            VirtualThreadHttpServletTransport transport =
+                    new VirtualThreadHttpServletTransport(httpServletTransport, executorService, new BufferPool());
+
+            transport.close();
+
+            Assert.assertFalse(executorService.isShutdown());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}